@@ -0,0 +1,34 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsCustomizer implements TomcatProtocolHandlerCustomizer<ProtocolHandler> {
+
+    @Override
+    public void customize(ProtocolHandler protocolHandler) {
+
+        log.info("Handling requests on virtual threads");
+
+        protocolHandler.setExecutor(newVirtualThreadPerTaskExecutor());
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later, running on "
+                    + Runtime.version(), exception);
+        }
+    }
+}
@@ -2,30 +2,30 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.bind.annotation.RequestHeader;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerRequestFactory;
 
-import javax.validation.constraints.Max;
-import javax.validation.constraints.Min;
-import javax.validation.constraints.Positive;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ServerRequestFactory requestFactory) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                .requestFactory(() -> requestFactory)
                 .build()
         );
     }
@@ -35,6 +35,10 @@ public class BookingClient extends BaseClient {
         return post("", bookerId, createBookingDto);
     }
 
+    public ResponseEntity<Object> addBookings(long bookerId, List<CreateBookingDto> createBookingDtoList) {
+
+        return post("/batch", bookerId, createBookingDtoList);
+    }
 
     public ResponseEntity<Object> approveBooking(long ownerId, long bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of(
@@ -48,24 +52,33 @@ public class BookingClient extends BaseClient {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAllBooking(long userId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state,
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getAllBooking(long userId, String state, Integer from, Integer size, String after) {
+        return get(makeListPath("", after), userId, makeListParameters(state, from, size, after));
     }
 
-    public ResponseEntity<Object> getAllOwnerBooking(@RequestHeader("X-Sharer-User-Id") @Positive long ownerId,
-                                                     @RequestParam(defaultValue = "ALL") String state,
-                                                     @RequestParam(defaultValue = "0") @Min(0) Integer from,
-                                                     @RequestParam(defaultValue = "50") @Min(1) @Max(100) Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state,
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
+    public ResponseEntity<Object> getAllOwnerBooking(long ownerId, String state, Integer from, Integer size,
+                                                     String after) {
+        return get(makeListPath("/owner", after), ownerId, makeListParameters(state, from, size, after));
+    }
+
+    private String makeListPath(String path, String after) {
+        if (after == null) {
+            return path + "?state={state}&from={from}&size={size}";
+        }
+
+        return path + "?state={state}&from={from}&size={size}&after={after}";
+    }
+
+    private Map<String, Object> makeListParameters(String state, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state);
+        parameters.put("from", from);
+        parameters.put("size", size);
+
+        if (after != null) {
+            parameters.put("after", after);
+        }
+
+        return parameters;
     }
 }
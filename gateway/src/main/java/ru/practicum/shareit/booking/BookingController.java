@@ -2,24 +2,39 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.group.OnPost;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
 
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Validated
 public class BookingController {
 
+    static final int MAX_BATCH_SIZE = 500;
+
     private final BookingClient bookingClient;
+    private final Validator validator;
 
     @PostMapping
     public ResponseEntity<Object> addBooking(@RequestHeader("X-Sharer-User-Id") @Positive long bookerId,
@@ -32,6 +47,20 @@ public class BookingController {
         return bookingClient.addBooking(bookerId, createBookingDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> addBookings(@RequestHeader("X-Sharer-User-Id") @Positive long bookerId,
+                                              @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                              List<CreateBookingDto> createBookingDtoList) {
+
+        log.info("Call 'addBookings': bookerId = {}, count = {}", bookerId, createBookingDtoList.size());
+
+        validOnPost(validator, createBookingDtoList);
+
+        createBookingDtoList.forEach(createBookingDto -> createBookingDto.setBookerId(bookerId));
+
+        return bookingClient.addBookings(bookerId, createBookingDtoList);
+    }
+
     @PatchMapping("/{bookingId}")
     ResponseEntity<Object> approveBooking(@RequestHeader("X-Sharer-User-Id") @Positive long ownerId,
                                       @PathVariable @Positive long bookingId,
@@ -55,21 +84,44 @@ public class BookingController {
     ResponseEntity<Object> getAllBooking(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
                                            @RequestParam(defaultValue = "ALL") String state,
                                            @RequestParam(defaultValue = "0") @Min(0) Integer from,
-                                           @RequestParam(defaultValue = "50") @Min(1) @Max(100) Integer size) {
+                                           @RequestParam(defaultValue = "50") @Min(1) @Max(100) Integer size,
+                                           @RequestParam(required = false) @Pattern(regexp = "\\S+") String after) {
 
-        log.info("Call 'getAllBooking': userId = {}, state = {}, from = {}, size = {}", userId, state, from, size);
+        log.info("Call 'getAllBooking': userId = {}, state = {}, from = {}, size = {}, after = {}",
+                userId, state, from, size, after);
 
-        return bookingClient.getAllBooking(userId, state, from, size);
+        return bookingClient.getAllBooking(userId, state, from, size, after);
     }
 
     @GetMapping("/owner")
     ResponseEntity<Object> getAllOwnerBooking(@RequestHeader("X-Sharer-User-Id") @Positive long ownerId,
                                                 @RequestParam(defaultValue = "ALL") String state,
                                                 @RequestParam(defaultValue = "0") @Min(0) Integer from,
-                                                @RequestParam(defaultValue = "50") @Min(1) @Max(100) Integer size) {
+                                                @RequestParam(defaultValue = "50") @Min(1) @Max(100) Integer size,
+                                                @RequestParam(required = false) @Pattern(regexp = "\\S+")
+                                                String after) {
+
+        log.info("Call 'getAllBooking': ownerId = {}, state = {}, from = {}, size = {}, after = {}",
+                ownerId, state, from, size, after);
+
+        return bookingClient.getAllOwnerBooking(ownerId, state, from, size, after);
+    }
+
+    static void validOnPost(Validator validator, List<CreateBookingDto> createBookingDtoList) {
+
+        Set<ConstraintViolation<CreateBookingDto>> violations = new HashSet<>();
+        StringJoiner message = new StringJoiner(", ");
 
-        log.info("Call 'getAllBooking': ownerId = {}, state = {}, from = {}, size = {}", ownerId, state, from, size);
+        for (int i = 0; i < createBookingDtoList.size(); i++) {
+            for (ConstraintViolation<CreateBookingDto> violation :
+                    validator.validate(createBookingDtoList.get(i), OnPost.class)) {
+                violations.add(violation);
+                message.add("[" + i + "]." + violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+        }
 
-        return bookingClient.getAllOwnerBooking(ownerId, state, from, size);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(message.toString(), violations);
+        }
     }
 }
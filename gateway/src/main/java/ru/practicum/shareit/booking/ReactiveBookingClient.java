@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ServerHttpConnector;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ServerHttpConnector connector) {
+        super(builder
+                .baseUrl(serverUrl + API_PREFIX)
+                .clientConnector(connector)
+                .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addBooking(long bookerId, CreateBookingDto createBookingDto) {
+
+        return post("", bookerId, createBookingDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addBookings(long bookerId,
+                                                             List<CreateBookingDto> createBookingDtoList) {
+
+        return post("/batch", bookerId, createBookingDtoList);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approveBooking(long ownerId, long bookingId, Boolean approved) {
+        Map<String, Object> parameters = Map.of(
+                "approved", approved
+        );
+
+        return patch("/" + bookingId + "?approved={approved}", ownerId, parameters, null);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBooking(long userId, long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllBooking(long userId, String state, Integer from,
+                                                               Integer size, String after) {
+        return get(makeListPath("", after), userId, makeListParameters(state, from, size, after));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllOwnerBooking(long ownerId, String state, Integer from,
+                                                                    Integer size, String after) {
+        return get(makeListPath("/owner", after), ownerId, makeListParameters(state, from, size, after));
+    }
+
+    private String makeListPath(String path, String after) {
+        if (after == null) {
+            return path + "?state={state}&from={from}&size={size}";
+        }
+
+        return path + "?state={state}&from={from}&size={size}&after={after}";
+    }
+
+    private Map<String, Object> makeListParameters(String state, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state);
+        parameters.put("from", from);
+        parameters.put("size", size);
+
+        if (after != null) {
+            parameters.put("after", after);
+        }
+
+        return parameters;
+    }
+}
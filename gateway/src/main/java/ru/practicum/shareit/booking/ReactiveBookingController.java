@@ -0,0 +1,112 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.group.OnPost;
+
+import javax.validation.Validator;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static ru.practicum.shareit.booking.BookingController.MAX_BATCH_SIZE;
+import static ru.practicum.shareit.booking.BookingController.validOnPost;
+
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Validated
+public class ReactiveBookingController {
+
+    private final ReactiveBookingClient bookingClient;
+    private final Validator validator;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addBooking(
+            @RequestHeader("X-Sharer-User-Id") @Positive long bookerId,
+            @RequestBody @Validated(OnPost.class) CreateBookingDto createBookingDto) {
+
+        log.info("Call 'addBooking': bookerId = {}, {}", bookerId, createBookingDto);
+
+        createBookingDto.setBookerId(bookerId);
+
+        return bookingClient.addBooking(bookerId, createBookingDto);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addBookings(
+            @RequestHeader("X-Sharer-User-Id") @Positive long bookerId,
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<CreateBookingDto> createBookingDtoList) {
+
+        log.info("Call 'addBookings': bookerId = {}, count = {}", bookerId, createBookingDtoList.size());
+
+        validOnPost(validator, createBookingDtoList);
+
+        createBookingDtoList.forEach(createBookingDto -> createBookingDto.setBookerId(bookerId));
+
+        return bookingClient.addBookings(bookerId, createBookingDtoList);
+    }
+
+    @PatchMapping("/{bookingId}")
+    Mono<ResponseEntity<Flux<DataBuffer>>> approveBooking(@RequestHeader("X-Sharer-User-Id") @Positive long ownerId,
+                                                          @PathVariable @Positive long bookingId,
+                                                          @RequestParam Boolean approved) {
+
+        log.info("Call 'approveBooking': ownerId = {}, bookingId = {}, approved = {}", ownerId, bookingId, approved);
+
+        return bookingClient.approveBooking(ownerId, bookingId, approved);
+    }
+
+    @GetMapping("/{bookingId}")
+    Mono<ResponseEntity<Flux<DataBuffer>>> getBooking(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                      @PathVariable @Positive long bookingId) {
+
+        log.info("Call 'getBooking': userId = {}, bookingId = {}", userId, bookingId);
+
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    @GetMapping()
+    Mono<ResponseEntity<Flux<DataBuffer>>> getAllBooking(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                         @RequestParam(defaultValue = "ALL") String state,
+                                                         @RequestParam(defaultValue = "0") @Min(0) Integer from,
+                                                         @RequestParam(defaultValue = "50") @Min(1) @Max(100)
+                                                         Integer size,
+                                                         @RequestParam(required = false) @Pattern(regexp = "\\S+")
+                                                         String after) {
+
+        log.info("Call 'getAllBooking': userId = {}, state = {}, from = {}, size = {}, after = {}",
+                userId, state, from, size, after);
+
+        return bookingClient.getAllBooking(userId, state, from, size, after);
+    }
+
+    @GetMapping("/owner")
+    Mono<ResponseEntity<Flux<DataBuffer>>> getAllOwnerBooking(@RequestHeader("X-Sharer-User-Id") @Positive long ownerId,
+                                                              @RequestParam(defaultValue = "ALL") String state,
+                                                              @RequestParam(defaultValue = "0") @Min(0) Integer from,
+                                                              @RequestParam(defaultValue = "50") @Min(1) @Max(100)
+                                                              Integer size,
+                                                              @RequestParam(required = false) @Pattern(regexp = "\\S+")
+                                                              String after) {
+
+        log.info("Call 'getAllBooking': ownerId = {}, state = {}, from = {}, size = {}, after = {}",
+                ownerId, state, from, size, after);
+
+        return bookingClient.getAllOwnerBooking(ownerId, state, from, size, after);
+    }
+}
@@ -1,22 +1,69 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 public class BaseClient {
+    private static final Set<String> NOT_RELAYED_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "content-length");
+
     protected final RestTemplate rest;
 
+    private final NotFoundCache notFoundCache;
+
+    private final String resource;
+
     public BaseClient(RestTemplate rest) {
+        this(rest, null, null);
+    }
+
+    public BaseClient(RestTemplate rest, NotFoundCache notFoundCache, String resource) {
         this.rest = rest;
+        this.notFoundCache = notFoundCache;
+        this.resource = resource;
+    }
+
+    protected ResponseEntity<Object> getById(long id, Long userId) {
+        Optional<NotFoundCache.NotFound> cached = notFoundCache.find(resource, id, userId);
+        if (cached.isPresent()) {
+            return notFoundResponse(cached.get().getHeaders(), cached.get().getBody());
+        }
+
+        long generation = notFoundCache.generation(resource);
+        ResponseEntity<Object> response = get("/" + id, userId, null);
+        if (response.getStatusCodeValue() != 404) {
+            return response;
+        }
+
+        byte[] body;
+        try (InputStream in = ((InputStreamResource) response.getBody()).getInputStream()) {
+            body = StreamUtils.copyToByteArray(in);
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on reading not found response for \"" + resource + "/"
+                    + id + "\": " + e.getMessage(), e);
+        }
+
+        notFoundCache.put(resource, id, userId, generation, response.getHeaders(), body);
+        return notFoundResponse(response.getHeaders(), body);
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -79,20 +126,37 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected static void release(ResponseEntity<Object> response) {
+        if (response.getBody() instanceof InputStreamResource) {
+            try {
+                ((InputStreamResource) response.getBody()).getInputStream().close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        URI uri;
+        if (parameters != null) {
+            uri = rest.getUriTemplateHandler().expand(path, parameters);
+        } else {
+            uri = rest.getUriTemplateHandler().expand(path);
+        }
+
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(requestEntity).doWithRequest(request);
+            return prepareGatewayResponse(request.execute());
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                    + e.getMessage(), e);
+        } finally {
+            if (notFoundCache != null && method != HttpMethod.GET) {
+                notFoundCache.invalidate(resource);
             }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -105,17 +169,27 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private static ResponseEntity<Object> notFoundResponse(HttpHeaders headers, byte[] body) {
+        return ResponseEntity.status(404)
+                .headers(headers)
+                .body(new ByteArrayResource(body));
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(ClientHttpResponse response) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (!NOT_RELAYED_HEADERS.contains(name.toLowerCase())) {
+                headers.addAll(name, values);
+            }
+        });
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        try {
+            return ResponseEntity.status(response.getRawStatusCode())
+                    .headers(headers)
+                    .body(new InputStreamResource(response.getBody()));
+        } catch (IOException | RuntimeException e) {
+            response.close();
+            throw e;
         }
-
-        return responseBuilder.build();
     }
 }
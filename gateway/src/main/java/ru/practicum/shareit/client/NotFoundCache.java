@@ -0,0 +1,108 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class NotFoundCache {
+
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    public static final String REQUESTS = "requests";
+
+    private final boolean enabled;
+
+    private final Cache<Key, NotFound> cache;
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public NotFoundCache(@Value("${shareit.not-found-cache.ttl:5s}") Duration ttl,
+                         @Value("${shareit.not-found-cache.maximum-size:10000}") long maximumSize,
+                         MeterRegistry meterRegistry) {
+
+        enabled = maximumSize > 0 && !ttl.isZero();
+
+        cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "notFound");
+    }
+
+    public Optional<NotFound> find(String resource, long id, Long userId) {
+
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(cache.getIfPresent(new Key(resource, id, userId)));
+    }
+
+    public long generation(String resource) {
+
+        return generations.computeIfAbsent(resource, key -> new AtomicLong()).get();
+    }
+
+    public void put(String resource, long id, Long userId, long generation, HttpHeaders headers, byte[] body) {
+
+        if (!enabled) {
+            return;
+        }
+
+        HttpHeaders cachedHeaders = new HttpHeaders();
+        cachedHeaders.putAll(headers);
+        cachedHeaders.remove(HttpHeaders.DATE);
+
+        Key key = new Key(resource, id, userId);
+        cache.put(key, new NotFound(HttpHeaders.readOnlyHttpHeaders(cachedHeaders), body));
+
+        if (generation(resource) != generation) {
+            cache.invalidate(key);
+        }
+    }
+
+    public void invalidate(String resource) {
+
+        generations.computeIfAbsent(resource, key -> new AtomicLong());
+
+        if (USERS.equals(resource)) {
+            generations.values().forEach(AtomicLong::incrementAndGet);
+            cache.invalidateAll();
+        } else {
+            generations.get(resource).incrementAndGet();
+            cache.asMap().keySet().removeIf(key -> key.getResource().equals(resource));
+        }
+    }
+
+    @Data
+    public static class NotFound {
+
+        private final HttpHeaders headers;
+
+        private final byte[] body;
+    }
+
+    @Data
+    private static class Key {
+
+        private final String resource;
+
+        private final long id;
+
+        private final Long userId;
+    }
+}
@@ -0,0 +1,165 @@
+package ru.practicum.shareit.client;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ReactiveBaseClient {
+    private static final Set<String> NOT_RELAYED_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "content-length");
+
+    protected final WebClient web;
+
+    private final NotFoundCache notFoundCache;
+
+    private final String resource;
+
+    public ReactiveBaseClient(WebClient web) {
+        this(web, null, null);
+    }
+
+    public ReactiveBaseClient(WebClient web, NotFoundCache notFoundCache, String resource) {
+        this.web = web;
+        this.notFoundCache = notFoundCache;
+        this.resource = resource;
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> getById(long id, Long userId) {
+        return Mono.defer(() -> {
+            Optional<NotFoundCache.NotFound> cached = notFoundCache.find(resource, id, userId);
+            if (cached.isPresent()) {
+                return Mono.just(notFoundResponse(cached.get().getHeaders(), cached.get().getBody()));
+            }
+
+            long generation = notFoundCache.generation(resource);
+            return get("/" + id, userId, null).flatMap(response -> {
+                if (response.getStatusCodeValue() != 404) {
+                    return Mono.just(response);
+                }
+
+                return DataBufferUtils.join(response.getBody())
+                        .map(ReactiveBaseClient::toBytes)
+                        .defaultIfEmpty(new byte[0])
+                        .map(body -> {
+                            notFoundCache.put(resource, id, userId, generation, response.getHeaders(), body);
+                            return notFoundResponse(response.getHeaders(), body);
+                        });
+            });
+        });
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, Long userId,
+                                                         @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, Long userId,
+                                                              @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, Long userId,
+                                                               @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> delete(String path) {
+        return delete(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> delete(String path, Long userId,
+                                                            @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    }
+
+    private <T> Mono<ResponseEntity<Flux<DataBuffer>>> makeAndSendRequest(HttpMethod method, String path,
+                                                                          Long userId,
+                                                                          @Nullable Map<String, Object> parameters,
+                                                                          @Nullable T body) {
+        WebClient.RequestBodySpec request = web.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> defaultHeaders(headers, userId));
+
+        if (body != null) {
+            request.bodyValue(body);
+        }
+
+        Mono<ResponseEntity<Flux<DataBuffer>>> response = request.retrieve()
+                .onRawStatus(status -> true, clientResponse -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(ReactiveBaseClient::prepareGatewayResponse);
+
+        if (notFoundCache != null && method != HttpMethod.GET) {
+            return response.doFinally(signal -> notFoundCache.invalidate(resource));
+        }
+
+        return response;
+    }
+
+    private static void defaultHeaders(HttpHeaders headers, Long userId) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    private static ResponseEntity<Flux<DataBuffer>> notFoundResponse(HttpHeaders headers, byte[] body) {
+        return ResponseEntity.status(404)
+                .headers(headers)
+                .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))));
+    }
+
+    private static ResponseEntity<Flux<DataBuffer>> prepareGatewayResponse(ResponseEntity<Flux<DataBuffer>> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (!NOT_RELAYED_HEADERS.contains(name.toLowerCase())) {
+                headers.addAll(name, values);
+            }
+        });
+
+        return ResponseEntity.status(response.getStatusCodeValue())
+                .headers(headers)
+                .body(response.getBody());
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ServerHttpConnector extends ReactorClientHttpConnector {
+
+    public ServerHttpConnector(@Value("${shareit-server.pool.max-per-route:100}") int maxPerRoute,
+                               @Value("${shareit-server.pool.idle-timeout:30s}") Duration idleTimeout,
+                               @Value("${shareit-server.connect-timeout:2s}") Duration connectTimeout,
+                               @Value("${shareit-server.read-timeout:10s}") Duration readTimeout,
+                               @Value("${shareit-server.connection-request-timeout:2s}")
+                               Duration connectionRequestTimeout) {
+
+        super(HttpClient.create(ConnectionProvider.builder("shareit-server")
+                        .maxConnections(maxPerRoute)
+                        .pendingAcquireMaxCount(-1)
+                        .pendingAcquireTimeout(connectionRequestTimeout)
+                        .maxIdleTime(idleTimeout)
+                        .evictInBackground(idleTimeout)
+                        .metrics(true)
+                        .build())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout));
+    }
+}
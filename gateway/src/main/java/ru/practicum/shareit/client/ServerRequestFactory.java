@@ -0,0 +1,202 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ServerRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+    private final Semaphore permits;
+
+    private final Duration connectionRequestTimeout;
+
+    public ServerRequestFactory(@Value("${shareit-server.pool.max-total:200}") int maxTotal,
+                                @Value("${shareit-server.pool.max-per-route:100}") int maxPerRoute,
+                                @Value("${shareit-server.pool.keep-alive:30s}") Duration keepAlive,
+                                @Value("${shareit-server.pool.idle-timeout:30s}") Duration idleTimeout,
+                                @Value("${shareit-server.connect-timeout:2s}") Duration connectTimeout,
+                                @Value("${shareit-server.read-timeout:10s}") Duration readTimeout,
+                                @Value("${shareit-server.connection-request-timeout:2s}")
+                                Duration connectionRequestTimeout,
+                                @Value("${shareit.virtual-threads.enabled:false}") boolean virtualThreads,
+                                MeterRegistry meterRegistry) {
+
+        this.permits = virtualThreads ? new Semaphore(maxPerRoute, true) : null;
+        this.connectionRequestTimeout = connectionRequestTimeout;
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server")
+                .bindTo(meterRegistry);
+
+        setHttpClient(HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive.toMillis())
+                            : keepAlive.toMillis();
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout((int) connectTimeout.toMillis())
+                        .setSocketTimeout((int) readTimeout.toMillis())
+                        .setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis())
+                        .build())
+                .build());
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+
+        ClientHttpRequest request = super.createRequest(uri, httpMethod);
+
+        return permits != null ? new PermitRequest(request) : request;
+    }
+
+    private void acquire() {
+
+        try {
+            if (permits.tryAcquire(connectionRequestTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        throw new ServerUnavailableException("No connection to the server available within "
+                + connectionRequestTimeout.toMillis() + " ms");
+    }
+
+    private class PermitRequest implements ClientHttpRequest {
+
+        private final ClientHttpRequest request;
+
+        private PermitRequest(ClientHttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+
+            acquire();
+            try {
+                return new PermitResponse(request.execute());
+            } catch (IOException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public String getMethodValue() {
+            return request.getMethodValue();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+    }
+
+    private class PermitResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitResponse(ClientHttpResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+
+            return new FilterInputStream(response.getBody()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        release();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+
+            try {
+                response.close();
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        private void release() {
+
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -8,8 +8,11 @@ import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
 import ru.practicum.shareit.exception.DataBadRequestException;
 import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.exception.ServerUnavailableException;
 
 import javax.validation.ConstraintViolationException;
 
@@ -27,6 +30,25 @@ public class ErrorHandler {
                 "Parameter name '" + exception.getHeaderName() + "'");
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handle(final WebExchangeBindException exception) {
+
+        log.info("Get ValidationException: {}", exception.getMethodParameter());
+
+        return new ErrorResponse("Validation failed",
+                exception.getMethodParameter().getParameterName());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handle(final ServerWebInputException exception) {
+
+        log.info("Get ServerWebInputException, {}", exception.getReason());
+
+        return new ErrorResponse("Bad request", exception.getReason());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handle(final IllegalArgumentException exception) {
@@ -83,4 +105,13 @@ public class ErrorHandler {
 
         return new ErrorResponse("Illegal argument", null);
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handle(final ServerUnavailableException exception) {
+
+        log.info("Get ServerUnavailableException, {}", exception.getMessage());
+
+        return new ErrorResponse("Service unavailable", exception.getMessage());
+    }
+}
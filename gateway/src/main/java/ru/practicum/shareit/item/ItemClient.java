@@ -2,27 +2,33 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.NotFoundCache;
+import ru.practicum.shareit.client.ServerRequestFactory;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ServerRequestFactory requestFactory, NotFoundCache notFoundCache) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
+                .requestFactory(() -> requestFactory)
+                .build(),
+                notFoundCache,
+                NotFoundCache.ITEMS
         );
     }
 
@@ -41,17 +47,23 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getItem(long userId, long itemId) {
-        return get("/" + itemId, userId);
+        return getById(itemId, userId);
     }
 
-    public ResponseEntity<Object> getItems(long ownerId) {
-        return get("", ownerId);
+    public ResponseEntity<Object> getItems(long ownerId, Long after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+        return get("?after={after}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> searchItems(long userId, String text) {
+    public ResponseEntity<Object> searchItems(long userId, String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
-                "text", text
+                "text", text,
+                "from", from,
+                "size", size
         );
-        return get("/search?text={text}", userId, parameters);
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -11,11 +12,14 @@ import ru.practicum.shareit.group.OnPost;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
 import java.util.ArrayList;
 
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @RequestMapping("/items")
 @Validated
@@ -70,23 +74,27 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItems(@RequestHeader("X-Sharer-User-Id") @Positive long ownerId) {
+    public ResponseEntity<Object> getItems(@RequestHeader("X-Sharer-User-Id") @Positive long ownerId,
+                                           @RequestParam(defaultValue = "0") @Min(0) Long after,
+                                           @RequestParam(defaultValue = "50") @Min(1) @Max(100) Integer size) {
 
-        log.info("Call 'getItems': userId = {}", ownerId);
+        log.info("Call 'getItems': userId = {}, after = {}, size = {}", ownerId, after, size);
 
-        return itemClient.getItems(ownerId);
+        return itemClient.getItems(ownerId, after, size);
     }
 
     @GetMapping(value = "/search")
     public ResponseEntity<Object> searchItems(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                     @RequestParam(required = true) String text) {
+                                     @RequestParam(required = true) String text,
+                                     @RequestParam(defaultValue = "0") @Min(0) Integer from,
+                                     @RequestParam(defaultValue = "50") @Min(1) @Max(100) Integer size) {
 
-        log.info("Call 'searchItems': userId = {}, text = '{}'", userId, text);
+        log.info("Call 'searchItems': userId = {}, text = '{}', from = {}, size = {}", userId, text, from, size);
 
         if (text.isBlank()) {
             return new ResponseEntity<>(new ArrayList<>(), HttpStatus.OK);
         }
 
-        return itemClient.searchItems(userId, text);
+        return itemClient.searchItems(userId, text, from, size);
     }
 }
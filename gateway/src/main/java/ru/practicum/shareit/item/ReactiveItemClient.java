@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.NotFoundCache;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ServerHttpConnector;
+import ru.practicum.shareit.item.dto.CreateCommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ServerHttpConnector connector, NotFoundCache notFoundCache) {
+        super(builder
+                .baseUrl(serverUrl + API_PREFIX)
+                .clientConnector(connector)
+                .build(),
+                notFoundCache,
+                NotFoundCache.ITEMS
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addItem(long ownerId, ItemDto itemDto) {
+
+        return post("", ownerId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addComment(long userId, long itemId,
+                                                            CreateCommentDto createCommentDto) {
+        return post("/" + itemId + "/comment", userId, createCommentDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(long ownerId, long itemId, ItemDto itemDto) {
+        return patch("/" + itemId, ownerId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItem(long userId, long itemId) {
+        return getById(itemId, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItems(long ownerId, Long after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+        return get("?after={after}&size={size}", ownerId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> searchItems(long userId, String text, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.group.OnPatch;
+import ru.practicum.shareit.group.OnPost;
+import ru.practicum.shareit.item.dto.CreateCommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Positive;
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@RequestMapping("/items")
+@Validated
+public class ReactiveItemController {
+
+    private final ReactiveItemClient itemClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addItem(@RequestHeader("X-Sharer-User-Id") @Positive long ownerId,
+                                                          @RequestBody @Validated(OnPost.class) ItemDto itemDto) {
+
+        log.info("Call 'addItem': ownerId = {}, {}", ownerId, itemDto);
+
+        itemDto.setOwner(ownerId);
+
+        return itemClient.addItem(ownerId, itemDto);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addComment(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId,
+            @PathVariable @Positive long itemId,
+            @RequestBody @Validated CreateCommentDto createCommentDto) {
+
+        log.info("Call 'addComment': userId = {}, {}", userId, createCommentDto);
+
+        createCommentDto.setItemId(itemId);
+        createCommentDto.setAuthorId(userId);
+
+        return itemClient.addComment(userId, itemId, createCommentDto);
+    }
+
+    @PatchMapping(value = "/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(
+            @RequestHeader("X-Sharer-User-Id") @Positive long ownerId,
+            @PathVariable @Positive long itemId,
+            @RequestBody @Validated(OnPatch.class) ItemDto itemDto) {
+
+        log.info("Call 'updateItem': userId = {}, itemId = {}, {}", ownerId, itemId, itemDto);
+
+        itemDto.setOwner(ownerId);
+        itemDto.setId(itemId);
+
+        return itemClient.updateItem(ownerId, itemId, itemDto);
+    }
+
+    @GetMapping(value = "/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItem(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                          @PathVariable @Positive long itemId) {
+
+        log.info("Call 'getItem': userId = {}, itemId = {}", userId, itemId);
+
+        return itemClient.getItem(userId, itemId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItems(
+            @RequestHeader("X-Sharer-User-Id") @Positive long ownerId,
+            @RequestParam(defaultValue = "0") @Min(0) Long after,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(100) Integer size) {
+
+        log.info("Call 'getItems': userId = {}, after = {}, size = {}", ownerId, after, size);
+
+        return itemClient.getItems(ownerId, after, size);
+    }
+
+    @GetMapping(value = "/search")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> searchItems(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId,
+            @RequestParam(required = true) String text,
+            @RequestParam(defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(100) Integer size) {
+
+        log.info("Call 'searchItems': userId = {}, text = '{}', from = {}, size = {}", userId, text, from, size);
+
+        if (text.isBlank()) {
+            DataBuffer emptyList = DefaultDataBufferFactory.sharedInstance.wrap("[]".getBytes(StandardCharsets.UTF_8));
+            return Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(Flux.just(emptyList)));
+        }
+
+        return itemClient.searchItems(userId, text, from, size);
+    }
+}
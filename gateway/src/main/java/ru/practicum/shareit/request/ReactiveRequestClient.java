@@ -0,0 +1,56 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.NotFoundCache;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ServerHttpConnector;
+import ru.practicum.shareit.request.dto.CreateRequestDto;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRequestClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ServerHttpConnector connector, NotFoundCache notFoundCache) {
+        super(builder
+                .baseUrl(serverUrl + API_PREFIX)
+                .clientConnector(connector)
+                .build(),
+                notFoundCache,
+                NotFoundCache.REQUESTS
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addRequest(CreateRequestDto createRequestDto, Long requestorId) {
+
+        return post("", requestorId, createRequestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserRequests(long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequests(long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("/all?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getRequestById(long userId, long requestId) {
+        return getById(requestId, userId);
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.CreateRequestDto;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Positive;
+
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+@Validated
+public class ReactiveRequestController {
+
+    private final ReactiveRequestClient requestClient;
+
+    @PostMapping
+    Mono<ResponseEntity<Flux<DataBuffer>>> addRequest(@RequestHeader("X-Sharer-User-Id") @Positive long requestorId,
+                                                      @RequestBody @Validated CreateRequestDto createRequestDto) {
+
+        log.info("Call 'addRequest': User id = {}, {}", requestorId, createRequestDto);
+
+        return requestClient.addRequest(createRequestDto, requestorId);
+    }
+
+    @GetMapping
+    Mono<ResponseEntity<Flux<DataBuffer>>> getUserRequests(@RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+
+        log.info("Call 'getUserRequests': User id = {}", userId);
+
+        return requestClient.getUserRequests(userId);
+    }
+
+    @GetMapping("/all")
+    Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequests(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                          @RequestParam(defaultValue = "0") @Min(0) Integer from,
+                                                          @RequestParam(defaultValue = "50") @Min(1) @Max(100)
+                                                          Integer size) {
+
+        log.info("Call 'getAllRequests': Owner id = {}, from = {}, size = {}", userId, from, size);
+
+        return requestClient.getAllRequests(userId, from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    Mono<ResponseEntity<Flux<DataBuffer>>> getRequestById(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                          @PathVariable @Positive long requestId) {
+
+        log.info("Call 'getRequestById': User id = {}, request id = {}", userId, requestId);
+
+        return requestClient.getRequestById(userId, requestId);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.NotFoundCache;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ServerHttpConnector;
+import ru.practicum.shareit.user.dto.UserDto;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ServerHttpConnector connector, NotFoundCache notFoundCache) {
+        super(builder
+                .baseUrl(serverUrl + API_PREFIX)
+                .clientConnector(connector)
+                .build(),
+                notFoundCache,
+                NotFoundCache.USERS
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addUser(UserDto userDto) {
+
+        return post("", userDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(UserDto userDto, long userId) {
+        return patch("/" + userId, userId, userDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllUser() {
+        return get("");
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUser(long userId) {
+        return getById(userId, null);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> removeUser(long userId) {
+        return delete("/" + userId);
+    }
+}
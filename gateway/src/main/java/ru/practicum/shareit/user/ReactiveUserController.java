@@ -0,0 +1,70 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.group.OnPatch;
+import ru.practicum.shareit.group.OnPost;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.validation.constraints.Positive;
+
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Validated
+public class ReactiveUserController {
+
+    private final ReactiveUserClient userClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addUser(@RequestBody @Validated(OnPost.class) UserDto userDto) {
+
+        log.info("Call 'addUser': {}", userDto);
+
+        return userClient.addUser(userDto);
+    }
+
+    @PatchMapping(value = "/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(@RequestBody @Validated(OnPatch.class) UserDto userDto,
+                                                             @PathVariable @Positive long userId) {
+
+        log.info("Call 'updateUser': {}, userId = {}", userDto, userId);
+
+        return userClient.updateUser(userDto, userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllUser() {
+
+        log.info("Call 'getAllUser'");
+
+        return userClient.getAllUser();
+    }
+
+    @GetMapping(value = "/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUser(@PathVariable @Positive long userId) {
+
+        log.info("Call 'getUser': userId={}", userId);
+
+        return userClient.getUser(userId);
+    }
+
+    @DeleteMapping(value = "/{userId}")
+    public Mono<Void> removeUser(@PathVariable @Positive long userId) {
+
+        log.info("Call 'removeUser': userId={}", userId);
+
+        return userClient.removeUser(userId)
+                .flatMap(response -> response.getBody().map(DataBufferUtils::release).then());
+    }
+}
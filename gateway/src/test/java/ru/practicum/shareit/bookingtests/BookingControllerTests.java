@@ -0,0 +1,105 @@
+package ru.practicum.shareit.bookingtests;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingController;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = BookingController.class)
+public class BookingControllerTests {
+
+    @MockBean
+    private BookingClient bookingClient;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void getAllBookingWithoutAfterTest() throws Exception {
+
+        when(bookingClient.getAllBooking(anyLong(), anyString(), anyInt(), anyInt(), isNull()))
+                .thenReturn(ResponseEntity.ok(List.of()));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "PAST"))
+                .andExpect(status().isOk());
+
+        verify(bookingClient).getAllBooking(1L, "PAST", 0, 50, null);
+    }
+
+    @Test
+    void getAllBookingWithAfterTest() throws Exception {
+
+        when(bookingClient.getAllBooking(anyLong(), anyString(), anyInt(), anyInt(), anyString()))
+                .thenReturn(ResponseEntity.ok(List.of()));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "10")
+                        .param("after", "MjAyMy0wMS0wMVQxMjowMDowMF81"))
+                .andExpect(status().isOk());
+
+        verify(bookingClient).getAllBooking(1L, "ALL", 0, 10, "MjAyMy0wMS0wMVQxMjowMDowMF81");
+    }
+
+    @Test
+    void getAllOwnerBookingWithoutAfterTest() throws Exception {
+
+        when(bookingClient.getAllOwnerBooking(anyLong(), anyString(), anyInt(), anyInt(), isNull()))
+                .thenReturn(ResponseEntity.ok(List.of()));
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk());
+
+        verify(bookingClient).getAllOwnerBooking(2L, "ALL", 0, 50, null);
+    }
+
+    @Test
+    void getAllOwnerBookingWithAfterTest() throws Exception {
+
+        when(bookingClient.getAllOwnerBooking(anyLong(), anyString(), anyInt(), anyInt(), anyString()))
+                .thenReturn(ResponseEntity.ok(List.of()));
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("after", "cursor"))
+                .andExpect(status().isOk());
+
+        verify(bookingClient).getAllOwnerBooking(eq(2L), eq("ALL"), eq(0), eq(50), eq("cursor"));
+    }
+
+    @Test
+    void getAllBookingWithBlankAfterTest() throws Exception {
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("after", " "))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("after", ""))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingClient);
+    }
+}
@@ -0,0 +1,199 @@
+package ru.practicum.shareit.clienttests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.client.NotFoundCache;
+import ru.practicum.shareit.client.ServerRequestFactory;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.RequestClient;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class NotFoundCacheTests {
+
+    private static final String NOT_FOUND = "{\"error\":\"Link error\",\"description\":\"Not found\"}";
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+
+    private NotFoundCache notFoundCache;
+
+    private UserClient userClient;
+
+    private ItemClient itemClient;
+
+    private RequestClient requestClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::respond);
+        server.start();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ServerRequestFactory requestFactory = new ServerRequestFactory(10, 10, Duration.ofSeconds(30),
+                Duration.ofSeconds(30), Duration.ofSeconds(2), Duration.ofSeconds(2), Duration.ofSeconds(2),
+                false, meterRegistry);
+        String serverUrl = "http://localhost:" + server.getAddress().getPort();
+
+        notFoundCache = new NotFoundCache(Duration.ofMinutes(1), 100, meterRegistry);
+        userClient = new UserClient(serverUrl, new RestTemplateBuilder(), requestFactory, notFoundCache);
+        itemClient = new ItemClient(serverUrl, new RestTemplateBuilder(), requestFactory, notFoundCache);
+        requestClient = new RequestClient(serverUrl, new RestTemplateBuilder(), requestFactory, notFoundCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        server.stop(0);
+    }
+
+    @Test
+    void repeatedNotFoundIsServedFromCacheTest() {
+
+        ResponseEntity<Object> first = userClient.getUser(9L);
+        ResponseEntity<Object> second = userClient.getUser(9L);
+
+        assertThat(calls("GET /users/9"), equalTo(1));
+        for (ResponseEntity<Object> response : List.of(first, second)) {
+            assertThat(response.getStatusCodeValue(), equalTo(404));
+            assertThat(response.getHeaders().getFirst("X-Request-Source"), equalTo("server"));
+            assertThat(new String(((ByteArrayResource) response.getBody()).getByteArray(), StandardCharsets.UTF_8),
+                    equalTo(NOT_FOUND));
+        }
+        assertThat(second.getHeaders().containsKey(HttpHeaders.DATE), equalTo(false));
+    }
+
+    @Test
+    void mutatingCallsInvalidateResourceTest() {
+
+        itemClient.getItem(1L, 9L);
+        requestClient.getRequestById(1L, 9L);
+        itemClient.getItem(1L, 9L);
+        assertThat(calls("GET /items/9"), equalTo(1));
+
+        release(itemClient.addItem(1L, makeItemDto()));
+        itemClient.getItem(1L, 9L);
+        itemClient.getItem(1L, 9L);
+        assertThat(calls("GET /items/9"), equalTo(2));
+
+        release(itemClient.updateItem(1L, 9L, makeItemDto()));
+        itemClient.getItem(1L, 9L);
+        assertThat(calls("GET /items/9"), equalTo(3));
+
+        requestClient.getRequestById(1L, 9L);
+        assertThat(calls("GET /requests/9"), equalTo(1));
+
+        userClient.removeUser(5L);
+        itemClient.getItem(1L, 9L);
+        assertThat(calls("GET /items/9"), equalTo(4));
+    }
+
+    @Test
+    void usersInvalidationFlushesEveryResourceTest() {
+
+        userClient.getUser(9L);
+        itemClient.getItem(1L, 9L);
+        requestClient.getRequestById(1L, 9L);
+
+        release(userClient.updateUser(new UserDto(), 5L));
+
+        userClient.getUser(9L);
+        itemClient.getItem(1L, 9L);
+        requestClient.getRequestById(1L, 9L);
+
+        assertThat(calls("GET /users/9"), equalTo(2));
+        assertThat(calls("GET /items/9"), equalTo(2));
+        assertThat(calls("GET /requests/9"), equalTo(2));
+    }
+
+    @Test
+    void entriesAreScopedPerUserTest() {
+
+        itemClient.getItem(1L, 9L);
+        itemClient.getItem(2L, 9L);
+        itemClient.getItem(1L, 9L);
+        itemClient.getItem(2L, 9L);
+
+        assertThat(calls("GET /items/9"), equalTo(2));
+        assertThat(notFoundCache.find(NotFoundCache.ITEMS, 9L, 1L).isPresent(), equalTo(true));
+        assertThat(notFoundCache.find(NotFoundCache.ITEMS, 9L, 3L).isPresent(), equalTo(false));
+        assertThat(notFoundCache.find(NotFoundCache.REQUESTS, 9L, 1L).isPresent(), equalTo(false));
+    }
+
+    @Test
+    void putAfterInvalidationIsDroppedTest() {
+
+        long generation = notFoundCache.generation(NotFoundCache.ITEMS);
+
+        notFoundCache.invalidate(NotFoundCache.ITEMS);
+        notFoundCache.put(NotFoundCache.ITEMS, 9L, 1L, generation, new HttpHeaders(), new byte[0]);
+
+        assertThat(notFoundCache.find(NotFoundCache.ITEMS, 9L, 1L).isPresent(), equalTo(false));
+    }
+
+    private int calls(String request) {
+
+        return calls.getOrDefault(request, new AtomicInteger()).get();
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+
+        String request = exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath();
+        calls.computeIfAbsent(request, key -> new AtomicInteger()).incrementAndGet();
+        exchange.getRequestBody().readAllBytes();
+
+        boolean notFound = exchange.getRequestMethod().equals("GET") && request.endsWith("/9");
+        byte[] bytes = (notFound ? NOT_FOUND : "{}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("X-Request-Source", "server");
+        exchange.sendResponseHeaders(notFound ? 404 : 200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void release(ResponseEntity<Object> response) {
+
+        try {
+            ((InputStreamResource) response.getBody()).getInputStream().close();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ItemDto makeItemDto() {
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Drill");
+        itemDto.setDescription("Cordless");
+        itemDto.setAvailable(true);
+
+        return itemDto;
+    }
+}
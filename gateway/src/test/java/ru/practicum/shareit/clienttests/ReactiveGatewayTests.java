@@ -0,0 +1,198 @@
+package ru.practicum.shareit.clienttests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+public class ReactiveGatewayTests {
+
+    private static final String USER = "{\"id\":1,\"name\":\"Alex\",\"email\":\"Alex@mail.ru\"}";
+    private static final String ERROR = "{\"error\":\"Something went wrong\"}";
+
+    private static final AtomicInteger calls = new AtomicInteger();
+
+    private static final HttpServer server = startServer();
+
+    @Autowired
+    private WebTestClient webClient;
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) {
+
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+        registry.add("shareit-server.pool.max-per-route", () -> 1);
+        registry.add("shareit-server.connection-request-timeout", () -> "1s");
+    }
+
+    @AfterAll
+    static void stopServer() {
+
+        server.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+
+        calls.set(0);
+    }
+
+    @Test
+    void batchOverMaxSizeIsRejectedTest() {
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        String booking = "{\"itemId\":1,\"start\":\"" + start + "\",\"end\":\"" + start.plusDays(1) + "\"}";
+        StringJoiner batch = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < 501; i++) {
+            batch.add(booking);
+        }
+
+        webClient.post()
+                .uri("/bookings/batch")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(batch.toString())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webClient.post()
+                .uri("/bookings/batch")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[" + booking + ",{\"itemId\":1}]")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.description").value(containsString("[1].start"));
+
+        assertThat(calls.get(), equalTo(0));
+    }
+
+    @Test
+    void invalidAfterIsRejectedTest() {
+
+        webClient.get()
+                .uri("/bookings?after= ")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webClient.get()
+                .uri("/bookings/owner?size=101")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        assertThat(calls.get(), equalTo(0));
+    }
+
+    @Test
+    void responsesArePassedThroughTest() {
+
+        webClient.get()
+                .uri("/users/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Total-Count", "1")
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(String.class).isEqualTo(USER);
+
+        webClient.get()
+                .uri("/users/2")
+                .exchange()
+                .expectStatus().isEqualTo(500)
+                .expectHeader().valueEquals("X-Total-Count", "1")
+                .expectBody(String.class).isEqualTo(ERROR);
+
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    void connectionsAreReleasedTest() throws InterruptedException {
+
+        for (int i = 0; i < 5; i++) {
+            webClient.get().uri("/users/1").exchange().expectStatus().isOk();
+            webClient.get().uri("/users/2").exchange().expectStatus().isEqualTo(500);
+            webClient.delete().uri("/users/2").exchange().expectBody().isEmpty();
+            webClient.get().uri("/users/3").exchange().expectStatus().isNotFound();
+        }
+
+        assertThat(calls.get(), equalTo(20));
+
+        Collection<Gauge> active = Metrics.globalRegistry.find("reactor.netty.connection.provider.active.connections")
+                .tag("name", "shareit-server")
+                .gauges();
+        assertThat(active, not(empty()));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (activeConnections(active) > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(activeConnections(active), equalTo(0.0));
+    }
+
+    private static double activeConnections(Collection<Gauge> active) {
+
+        return active.stream().mapToDouble(Gauge::value).sum();
+    }
+
+    private static HttpServer startServer() {
+
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            httpServer.createContext("/", exchange -> {
+                calls.incrementAndGet();
+                switch (exchange.getRequestURI().getPath()) {
+                    case "/users/1":
+                        respond(exchange, 200, USER);
+                        break;
+                    case "/users/3":
+                        respond(exchange, 404, ERROR);
+                        break;
+                    default:
+                        respond(exchange, 500, ERROR);
+                }
+            });
+            httpServer.start();
+            return httpServer;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("X-Total-Count", "1");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package ru.practicum.shareit.clienttests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.client.NotFoundCache;
+import ru.practicum.shareit.client.ServerRequestFactory;
+import ru.practicum.shareit.error.ErrorHandler;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.UserController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ServerPermitTests {
+
+    private static final String USER = "{\"id\":1,\"name\":\"Alex\",\"email\":\"Alex@mail.ru\"}";
+
+    private HttpServer server;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users/1", ServerPermitTests::respond);
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        server.stop(0);
+    }
+
+    @Test
+    void permitIsHeldUntilBodyIsClosedTest() throws IOException {
+
+        UserClient userClient = makeUserClient(true);
+
+        ResponseEntity<Object> response = userClient.getUser(1L);
+        assertThat(leased(), equalTo(1.0));
+
+        assertThrows(ServerUnavailableException.class, () -> userClient.getUser(1L));
+        assertThat(leased(), equalTo(1.0));
+
+        ((InputStreamResource) response.getBody()).getInputStream().close();
+        assertThat(leased(), equalTo(0.0));
+
+        userClient.removeUser(1L);
+        userClient.removeUser(1L);
+        assertThat(leased(), equalTo(0.0));
+    }
+
+    @Test
+    void platformThreadsDoNotTakePermitsTest() {
+
+        UserClient userClient = makeUserClient(false);
+
+        userClient.getUser(1L);
+
+        assertThat(leased(), equalTo(1.0));
+        assertThat(assertThrows(Exception.class, () -> userClient.getUser(1L)),
+                not(instanceOf(ServerUnavailableException.class)));
+    }
+
+    @Test
+    void serverUnavailableIsAnsweredWith503Test() throws Exception {
+
+        UserClient userClient = mock(UserClient.class);
+        when(userClient.getUser(1L)).thenThrow(new ServerUnavailableException("No connection"));
+
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new UserController(userClient))
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+
+        mvc.perform(get("/users/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error", is("Service unavailable")));
+    }
+
+    @Test
+    void invalidRequestDoesNotReachClientTest() throws Exception {
+
+        UserClient userClient = mock(UserClient.class);
+
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new UserController(userClient))
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+
+        mvc.perform(post("/users").contentType("application/json").content("{\"name\":\"Alex\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userClient);
+    }
+
+    private UserClient makeUserClient(boolean virtualThreads) {
+
+        ServerRequestFactory requestFactory = new ServerRequestFactory(10, 1, Duration.ofSeconds(30),
+                Duration.ofSeconds(30), Duration.ofSeconds(2), Duration.ofSeconds(2), Duration.ofMillis(100),
+                virtualThreads, meterRegistry);
+
+        return new UserClient("http://localhost:" + server.getAddress().getPort(), new RestTemplateBuilder(),
+                requestFactory, new NotFoundCache(Duration.ofSeconds(5), 100, meterRegistry));
+    }
+
+    private double leased() {
+
+        return meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "leased")
+                .gauge()
+                .value();
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+
+        byte[] bytes = USER.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
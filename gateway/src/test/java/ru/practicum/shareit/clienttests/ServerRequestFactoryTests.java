@@ -0,0 +1,93 @@
+package ru.practicum.shareit.clienttests;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerRequestFactory;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.RequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"shareit-server.pool.max-total=150", "shareit-server.pool.max-per-route=75"})
+public class ServerRequestFactoryTests {
+
+    @Autowired
+    private ServerRequestFactory requestFactory;
+
+    @Autowired
+    private BookingClient bookingClient;
+
+    @Autowired
+    private ItemClient itemClient;
+
+    @Autowired
+    private RequestClient requestClient;
+
+    @Autowired
+    private UserClient userClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void clientsShareOneConnectionManagerTest() {
+
+        HttpClientConnectionManager connectionManager = connectionManager(requestFactory);
+
+        assertThat(connectionManager, instanceOf(PoolingHttpClientConnectionManager.class));
+        assertThat(((PoolingHttpClientConnectionManager) connectionManager).getMaxTotal(), equalTo(150));
+        assertThat(((PoolingHttpClientConnectionManager) connectionManager).getDefaultMaxPerRoute(), equalTo(75));
+
+        for (BaseClient client : List.of(bookingClient, itemClient, requestClient, userClient)) {
+            RestTemplate rest = (RestTemplate) ReflectionTestUtils.getField(client, "rest");
+            Object clientRequestFactory = ReflectionTestUtils.getField(rest, "requestFactory");
+            assertThat(clientRequestFactory, sameInstance(requestFactory));
+            assertThat(connectionManager((ServerRequestFactory) clientRequestFactory), sameInstance(connectionManager));
+        }
+    }
+
+    @Test
+    void poolMetricsAreRegisteredTest() {
+
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "shareit-server").gauge().value(), equalTo(150.0));
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.route.max.default")
+                .tag("httpclient", "shareit-server").gauge().value(), equalTo(75.0));
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.pending")
+                .tag("httpclient", "shareit-server").gauge().value(), equalTo(0.0));
+        for (String state : List.of("leased", "available")) {
+            assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                    .tag("httpclient", "shareit-server").tag("state", state).gauge(), notNullValue());
+        }
+
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+                "/actuator/metrics/httpcomponents.httpclient.pool.total.max", Map.class);
+        assertThat(response.getStatusCodeValue(), equalTo(200));
+        assertThat(response.getBody().get("name"), equalTo("httpcomponents.httpclient.pool.total.max"));
+    }
+
+    private static HttpClientConnectionManager connectionManager(ServerRequestFactory requestFactory) {
+
+        return (HttpClientConnectionManager) ReflectionTestUtils.getField(requestFactory.getHttpClient(),
+                "connManager");
+    }
+}
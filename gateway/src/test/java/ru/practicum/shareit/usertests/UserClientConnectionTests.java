@@ -0,0 +1,117 @@
+package ru.practicum.shareit.usertests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.user.UserClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class UserClientConnectionTests {
+
+    private static final String USER = "{\"id\":1,\"name\":\"Alex\",\"email\":\"Alex@mail.ru\"}";
+    private static final String ERROR = "{\"error\":\"Something went wrong\"}";
+
+    private static final HttpServer server = startServer();
+
+    @Autowired
+    private UserClient userClient;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) {
+
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+        registry.add("shareit-server.pool.max-per-route", () -> 1);
+    }
+
+    @AfterAll
+    static void stopServer() {
+
+        server.stop(0);
+    }
+
+    @Test
+    void removeUserReleasesConnectionTest() {
+
+        for (int i = 0; i < 3; i++) {
+            userClient.removeUser(1L);
+            assertThat(leased(), equalTo(0.0));
+        }
+
+        userClient.removeUser(2L);
+        assertThat(leased(), equalTo(0.0));
+    }
+
+    @Test
+    void relayedResponsesReleaseConnectionTest() {
+
+        for (int i = 0; i < 3; i++) {
+            restTemplate.exchange("/users/2", HttpMethod.DELETE, null, String.class);
+            assertThat(leased(), equalTo(0.0));
+
+            ResponseEntity<String> response = restTemplate.getForEntity("/users/2", String.class);
+            assertThat(response.getStatusCodeValue(), equalTo(500));
+            assertThat(response.getBody(), equalTo(ERROR));
+            assertThat(leased(), equalTo(0.0));
+
+            response = restTemplate.getForEntity("/users/1", String.class);
+            assertThat(response.getStatusCodeValue(), equalTo(200));
+            assertThat(response.getBody(), equalTo(USER));
+            assertThat(leased(), equalTo(0.0));
+        }
+    }
+
+    private double leased() {
+
+        return meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", "shareit-server")
+                .tag("state", "leased")
+                .gauge()
+                .value();
+    }
+
+    private static HttpServer startServer() {
+
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            httpServer.createContext("/users/1", exchange -> respond(exchange, 200, USER));
+            httpServer.createContext("/users/2", exchange -> respond(exchange, 500, ERROR));
+            httpServer.start();
+            return httpServer;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
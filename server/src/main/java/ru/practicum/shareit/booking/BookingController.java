@@ -2,9 +2,12 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.ResponseBatchBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.interfaces.BookingService;
 
@@ -17,6 +20,8 @@ import java.util.List;
 @Validated
 public class BookingController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
 
     @PostMapping
@@ -30,6 +35,15 @@ public class BookingController {
         return bookingService.addBooking(createBookingDto);
     }
 
+    @PostMapping("/batch")
+    public List<ResponseBatchBookingDto> addBookings(@RequestHeader("X-Sharer-User-Id") long bookerId,
+                                                     @RequestBody List<CreateBookingDto> createBookingDtoList) {
+
+        log.info("Call 'addBookings': bookerId = {}, count = {}", bookerId, createBookingDtoList.size());
+
+        return bookingService.addBookings(bookerId, createBookingDtoList);
+    }
+
     @PatchMapping("/{bookingId}")
     ResponseBookingDto approveBooking(@RequestHeader("X-Sharer-User-Id") long ownerId,
                                       @PathVariable long bookingId,
@@ -50,24 +64,55 @@ public class BookingController {
     }
 
     @GetMapping()
-    List<ResponseBookingDto> getAllBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @RequestParam String state,
-                                           @RequestParam Integer from,
-                                           @RequestParam Integer size) {
-
-        log.info("Call 'getAllBooking': userId = {}, state = {}, from = {}, size = {}", userId, state, from, size);
-
-        return bookingService.getAllBooking(userId, state, from, size);
+    ResponseEntity<List<ResponseBookingDto>> getAllBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                           @RequestParam String state,
+                                                           @RequestParam Integer from,
+                                                           @RequestParam Integer size,
+                                                           @RequestParam(required = false) String after) {
+
+        log.info("Call 'getAllBooking': userId = {}, state = {}, from = {}, size = {}, after = {}",
+                userId, state, from, size, after);
+
+        if (after != null) {
+            Slice<ResponseBookingDto> bookingSlice = bookingService.getAllBookingAfter(userId, state, after, size);
+            return makeResponse(bookingSlice.getContent(), bookingSlice.hasNext());
+        }
+
+        List<ResponseBookingDto> bookingList = bookingService.getAllBooking(userId, state, from, size);
+        return makeResponse(bookingList, bookingList.size() == size);
     }
 
     @GetMapping("/owner")
-    List<ResponseBookingDto> getAllOwnerBooking(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                                @RequestParam String state,
-                                                @RequestParam Integer from,
-                                                @RequestParam Integer size) {
+    ResponseEntity<List<ResponseBookingDto>> getAllOwnerBooking(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                                @RequestParam String state,
+                                                                @RequestParam Integer from,
+                                                                @RequestParam Integer size,
+                                                                @RequestParam(required = false) String after) {
+
+        log.info("Call 'getAllBooking': ownerId = {}, state = {}, from = {}, size = {}, after = {}",
+                ownerId, state, from, size, after);
+
+        if (after != null) {
+            Slice<ResponseBookingDto> bookingSlice = bookingService.getAllOwnerBookingAfter(ownerId, state, after,
+                    size);
+            return makeResponse(bookingSlice.getContent(), bookingSlice.hasNext());
+        }
+
+        List<ResponseBookingDto> bookingList = bookingService.getAllOwnerBooking(ownerId, state, from, size);
+        return makeResponse(bookingList, bookingList.size() == size);
+    }
+
+    private ResponseEntity<List<ResponseBookingDto>> makeResponse(List<ResponseBookingDto> bookingList,
+                                                                  boolean hasNext) {
+
+        if (!hasNext || bookingList.isEmpty()) {
+            return ResponseEntity.ok(bookingList);
+        }
 
-        log.info("Call 'getAllBooking': ownerId = {}, state = {}, from = {}, size = {}", ownerId, state, from, size);
+        String nextCursor = BookingCursor.of(bookingList.get(bookingList.size() - 1)).encode();
 
-        return bookingService.getAllOwnerBooking(ownerId, state, from, size);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, nextCursor)
+                .body(bookingList);
     }
 }
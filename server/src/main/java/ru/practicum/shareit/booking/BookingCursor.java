@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Data;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.exception.DataBadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Data
+public class BookingCursor {
+
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime start;
+
+    private final long id;
+
+    public static BookingCursor of(ResponseBookingDto booking) {
+
+        if (booking == null) {
+            throw new IllegalArgumentException("Parameter booking in method of must be non-null");
+        }
+
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor decode(String token) {
+
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+
+            return new BookingCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new DataBadRequestException("Invalid cursor: " + token, e.getMessage());
+        }
+    }
+
+    public String encode() {
+
+        String value = start + SEPARATOR + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
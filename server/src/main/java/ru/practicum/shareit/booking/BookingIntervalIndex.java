@@ -0,0 +1,278 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.Status;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntPredicate;
+
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, ItemIntervals> intervals = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+
+        List<BookingInterval> approved = bookingRepository.findIntervalsByStatusAndEndAfter(Status.APPROVED,
+                LocalDateTime.now());
+
+        Map<Long, ItemIntervals> rebuilt = new HashMap<>();
+
+        int from = 0;
+        for (int i = 1; i <= approved.size(); i++) {
+            if (i == approved.size() || !approved.get(i).getItemId().equals(approved.get(from).getItemId())) {
+                rebuilt.put(approved.get(from).getItemId(), ItemIntervals.of(approved.subList(from, i)));
+                from = i;
+            }
+        }
+
+        intervals.clear();
+        intervals.putAll(rebuilt);
+    }
+
+    public boolean isBooked(long itemId, LocalDateTime start, LocalDateTime end) {
+
+        ItemIntervals itemIntervals = intervals.get(itemId);
+
+        return itemIntervals != null && itemIntervals.overlaps(toMicros(start), toMicros(end));
+    }
+
+    public boolean reserve(long itemId, long bookerId, LocalDateTime start, LocalDateTime end) {
+
+        long startMicros = toMicros(start);
+        long endMicros = toMicros(end);
+        long nowMicros = toMicros(LocalDateTime.now());
+        AtomicBoolean reserved = new AtomicBoolean();
+
+        intervals.compute(itemId, (id, itemIntervals) -> {
+            ItemIntervals current = itemIntervals == null ? ItemIntervals.EMPTY : itemIntervals.prune(nowMicros);
+            if (current.overlaps(startMicros, endMicros)) {
+                return current;
+            }
+            reserved.set(true);
+            return current.add(startMicros, endMicros, bookerId);
+        });
+
+        if (reserved.get() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(itemId, startMicros, endMicros, bookerId);
+                    }
+                }
+            });
+        }
+
+        return reserved.get();
+    }
+
+    public void removeBooker(long bookerId) {
+
+        long nowMicros = toMicros(LocalDateTime.now());
+        Map<Long, ItemIntervals> removed = new HashMap<>();
+
+        for (Long itemId : intervals.keySet()) {
+            intervals.computeIfPresent(itemId, (id, itemIntervals) -> {
+                ItemIntervals current = itemIntervals.prune(nowMicros);
+                ItemIntervals booked = current.select(i -> current.bookers[i] == bookerId);
+                if (booked.isEmpty()) {
+                    return current.orNull();
+                }
+                removed.put(id, booked);
+                return current.select(i -> current.bookers[i] != bookerId).orNull();
+            });
+        }
+
+        if (!removed.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(removed);
+                    }
+                }
+            });
+        }
+    }
+
+    private void release(long itemId, long startMicros, long endMicros, long bookerId) {
+
+        intervals.computeIfPresent(itemId, (id, itemIntervals) -> itemIntervals.remove(startMicros, endMicros,
+                bookerId).orNull());
+    }
+
+    private void restore(Map<Long, ItemIntervals> removed) {
+
+        removed.forEach((itemId, booked) -> intervals.compute(itemId, (id, itemIntervals) -> {
+            ItemIntervals current = itemIntervals == null ? ItemIntervals.EMPTY : itemIntervals;
+            for (int i = 0; i < booked.starts.length; i++) {
+                current = current.add(booked.starts[i], booked.ends[i], booked.bookers[i]);
+            }
+            return current;
+        }));
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    private static class ItemIntervals {
+
+        private static final ItemIntervals EMPTY = new ItemIntervals(new long[0], new long[0], new long[0]);
+
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] bookers;
+        private final long[] maxEnds;
+
+        private ItemIntervals(long[] starts, long[] ends, long[] bookers) {
+
+            this.starts = starts;
+            this.ends = ends;
+            this.bookers = bookers;
+
+            maxEnds = new long[ends.length];
+            for (int i = 0; i < ends.length; i++) {
+                maxEnds[i] = i == 0 ? ends[i] : Math.max(maxEnds[i - 1], ends[i]);
+            }
+        }
+
+        private static ItemIntervals of(List<BookingInterval> sortedByStart) {
+
+            long[] starts = new long[sortedByStart.size()];
+            long[] ends = new long[sortedByStart.size()];
+            long[] bookers = new long[sortedByStart.size()];
+
+            for (int i = 0; i < sortedByStart.size(); i++) {
+                starts[i] = toMicros(sortedByStart.get(i).getStart());
+                ends[i] = toMicros(sortedByStart.get(i).getEnd());
+                bookers[i] = sortedByStart.get(i).getBookerId();
+            }
+
+            return new ItemIntervals(starts, ends, bookers);
+        }
+
+        private boolean isEmpty() {
+
+            return starts.length == 0;
+        }
+
+        private ItemIntervals orNull() {
+
+            return isEmpty() ? null : this;
+        }
+
+        private boolean overlaps(long start, long end) {
+
+            int last = countStartsBefore(end) - 1;
+
+            return last >= 0 && maxEnds[last] > start;
+        }
+
+        private ItemIntervals add(long start, long end, long booker) {
+
+            int position = countStartsBefore(start);
+
+            return new ItemIntervals(insert(starts, position, start), insert(ends, position, end),
+                    insert(bookers, position, booker));
+        }
+
+        private ItemIntervals remove(long start, long end, long booker) {
+
+            for (int i = countStartsBefore(start); i < starts.length && starts[i] == start; i++) {
+                if (ends[i] == end && bookers[i] == booker) {
+                    return new ItemIntervals(delete(starts, i), delete(ends, i), delete(bookers, i));
+                }
+            }
+
+            return this;
+        }
+
+        private ItemIntervals prune(long now) {
+
+            if (isEmpty() || Arrays.stream(ends).allMatch(end -> end >= now)) {
+                return this;
+            }
+
+            return select(i -> ends[i] >= now);
+        }
+
+        private ItemIntervals select(IntPredicate selected) {
+
+            int size = 0;
+            long[] newStarts = new long[starts.length];
+            long[] newEnds = new long[ends.length];
+            long[] newBookers = new long[bookers.length];
+
+            for (int i = 0; i < starts.length; i++) {
+                if (selected.test(i)) {
+                    newStarts[size] = starts[i];
+                    newEnds[size] = ends[i];
+                    newBookers[size] = bookers[i];
+                    size++;
+                }
+            }
+
+            if (size == starts.length) {
+                return this;
+            }
+
+            return new ItemIntervals(Arrays.copyOf(newStarts, size), Arrays.copyOf(newEnds, size),
+                    Arrays.copyOf(newBookers, size));
+        }
+
+        private int countStartsBefore(long time) {
+
+            int low = 0;
+            int high = starts.length;
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (starts[middle] < time) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+        private static long[] insert(long[] array, int position, long value) {
+
+            long[] result = Arrays.copyOf(array, array.length + 1);
+            System.arraycopy(array, position, result, position + 1, array.length - position);
+            result[position] = value;
+
+            return result;
+        }
+
+        private static long[] delete(long[] array, int position) {
+
+            long[] result = new long[array.length - 1];
+            System.arraycopy(array, 0, result, 0, position);
+            System.arraycopy(array, position + 1, result, position, array.length - position - 1);
+
+            return result;
+        }
+    }
+}
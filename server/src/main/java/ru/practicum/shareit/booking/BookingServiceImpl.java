@@ -2,8 +2,12 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.ResponseBatchBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.interfaces.BookingRepository;
 import ru.practicum.shareit.booking.interfaces.BookingService;
@@ -12,23 +16,38 @@ import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.exception.DataBadRequestException;
 import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemSearchCache;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.ItemSummaryUpdater;
 import ru.practicum.shareit.item.interfaces.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.UserCache;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final ItemRepository itemRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemSummaryUpdater itemSummaryUpdater;
 
     @Override
+    @Transactional
     public ResponseBookingDto addBooking(CreateBookingDto createBookingDto) {
 
         createBookingDto.setStatus(Status.WAITING);
@@ -36,9 +55,7 @@ public class BookingServiceImpl implements BookingService {
         validDates(createBookingDto.getStart(), createBookingDto.getEnd());
 
         Item item = getItemIfAvailable(createBookingDto.getItemId());
-        if (item.getOwnerId() == createBookingDto.getBookerId()) {
-            throw new DataNotFoundException("Owner can not booking item");
-        }
+        checkBookable(createBookingDto, item);
 
         User booker = getUser(createBookingDto.getBookerId());
 
@@ -48,6 +65,60 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional
+    public List<ResponseBatchBookingDto> addBookings(long bookerId, List<CreateBookingDto> createBookingDtoList) {
+
+        User booker = getUser(bookerId);
+
+        Set<Long> itemIds = createBookingDtoList.stream()
+                .map(CreateBookingDto::getItemId)
+                .collect(Collectors.toSet());
+
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<ResponseBatchBookingDto> results = new ArrayList<>();
+        List<ResponseBatchBookingDto> createdResults = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+
+        for (CreateBookingDto createBookingDto : createBookingDtoList) {
+            ResponseBatchBookingDto result = new ResponseBatchBookingDto();
+            results.add(result);
+
+            createBookingDto.setBookerId(bookerId);
+            createBookingDto.setStatus(Status.WAITING);
+
+            try {
+                validDates(createBookingDto.getStart(), createBookingDto.getEnd());
+
+                Item item = checkAvailable(createBookingDto.getItemId(), items.get(createBookingDto.getItemId()));
+                checkBookable(createBookingDto, item);
+
+                bookings.add(BookingMapper.toBooking(createBookingDto, item, booker));
+                createdResults.add(result);
+
+            } catch (DataNotFoundException e) {
+                result.setStatus(HttpStatus.NOT_FOUND.value());
+                result.setError(e.getMessage());
+
+            } catch (DataBadRequestException e) {
+                result.setStatus(HttpStatus.BAD_REQUEST.value());
+                result.setError(e.getMessage());
+            }
+        }
+
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+
+        for (int i = 0; i < savedBookings.size(); i++) {
+            createdResults.get(i).setStatus(HttpStatus.CREATED.value());
+            createdResults.get(i).setBooking(BookingMapper.toResponseBookingDto(savedBookings.get(i)));
+        }
+
+        return results;
+    }
+
+    @Override
+    @Transactional
     public ResponseBookingDto approveBooking(long ownerId, long bookingId, boolean approved) {
 
         Booking booking = getBooking(bookingId);
@@ -61,12 +132,21 @@ public class BookingServiceImpl implements BookingService {
         }
 
         if (approved) {
+            reserve(booking);
             booking.setStatus(Status.APPROVED);
+            itemSearchIndex.addBooking(booking.getItem().getId());
+            itemSearchCache.evict(ItemMapper.toItemDto(booking.getItem()));
         } else {
             booking.setStatus(Status.REJECTED);
         }
 
-        return BookingMapper.toResponseBookingDto(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+
+        if (approved) {
+            itemSummaryUpdater.refresh(savedBooking.getItem().getId());
+        }
+
+        return BookingMapper.toResponseBookingDto(savedBooking);
     }
 
     @Override
@@ -90,11 +170,10 @@ public class BookingServiceImpl implements BookingService {
 
         getUser(bookerId);
 
-        List<Booking> bookingList;
+        List<ResponseBookingDto> bookingList;
 
         if (state == null) {
-            bookingList = bookingRepository.findAll();
-            return BookingMapper.toResponseBookingDto(bookingList);
+            return BookingMapper.toResponseBookingDto(bookingRepository.findAll());
         }
 
         switch (state) {
@@ -120,7 +199,7 @@ public class BookingServiceImpl implements BookingService {
             break;
         }
 
-        return BookingMapper.toResponseBookingDto(bookingList);
+        return bookingList;
     }
 
     @Override
@@ -132,7 +211,7 @@ public class BookingServiceImpl implements BookingService {
 
         getUser(ownerId);
 
-        List<Booking> bookingList;
+        List<ResponseBookingDto> bookingList;
 
         switch (state) {
             case CURRENT:
@@ -157,7 +236,93 @@ public class BookingServiceImpl implements BookingService {
             break;
         }
 
-        return BookingMapper.toResponseBookingDto(bookingList);
+        return bookingList;
+    }
+
+    @Override
+    public Slice<ResponseBookingDto> getAllBookingAfter(long bookerId, String stringState, String after,
+                                                        Integer size) {
+
+        State state = getState(stringState);
+        BookingCursor cursor = BookingCursor.decode(after);
+
+        PageRequest page = PageRequest.of(0, size);
+
+        getUser(bookerId);
+
+        Slice<ResponseBookingDto> bookingSlice;
+
+        switch (state == null ? State.ALL : state) {
+            case CURRENT:
+                bookingSlice = bookingRepository.findByBookerIdWithCurrentStateAfter(bookerId,
+                        cursor.getStart(), cursor.getId(), page);
+            break;
+            case PAST:
+                bookingSlice = bookingRepository.findByBookerIdWithPastStateAfter(bookerId,
+                        cursor.getStart(), cursor.getId(), page);
+            break;
+            case FUTURE:
+                bookingSlice = bookingRepository.findByBookerIdWithFutureStateAfter(bookerId,
+                        cursor.getStart(), cursor.getId(), page);
+            break;
+            case WAITING:
+                bookingSlice = bookingRepository.findByBookerIdAndStatusAfter(bookerId, Status.WAITING,
+                        cursor.getStart(), cursor.getId(), page);
+            break;
+            case REJECTED:
+                bookingSlice = bookingRepository.findByBookerIdAndStatusAfter(bookerId, Status.REJECTED,
+                        cursor.getStart(), cursor.getId(), page);
+            break;
+            default:
+                bookingSlice = bookingRepository.findByBookerIdAfter(bookerId,
+                        cursor.getStart(), cursor.getId(), page);
+            break;
+        }
+
+        return bookingSlice;
+    }
+
+    @Override
+    public Slice<ResponseBookingDto> getAllOwnerBookingAfter(long ownerId, String stringState, String after,
+                                                             Integer size) {
+
+        State state = getState(stringState);
+        BookingCursor cursor = BookingCursor.decode(after);
+
+        PageRequest page = PageRequest.of(0, size);
+
+        getUser(ownerId);
+
+        Slice<ResponseBookingDto> bookingSlice;
+
+        switch (state == null ? State.ALL : state) {
+            case CURRENT:
+                bookingSlice = bookingRepository.findByItemOwnerIdWithCurrentStateAfter(ownerId,
+                        cursor.getStart(), cursor.getId(), page);
+            break;
+            case PAST:
+                bookingSlice = bookingRepository.findByItemOwnerIdWithPastStateAfter(ownerId,
+                        cursor.getStart(), cursor.getId(), page);
+            break;
+            case FUTURE:
+                bookingSlice = bookingRepository.findByItemOwnerIdWithFutureStateAfter(ownerId,
+                        cursor.getStart(), cursor.getId(), page);
+            break;
+            case WAITING:
+                bookingSlice = bookingRepository.findByItemOwnerIdAndStatusAfter(ownerId, Status.WAITING,
+                        cursor.getStart(), cursor.getId(), page);
+            break;
+            case REJECTED:
+                bookingSlice = bookingRepository.findByItemOwnerIdAndStatusAfter(ownerId, Status.REJECTED,
+                        cursor.getStart(), cursor.getId(), page);
+            break;
+            default:
+                bookingSlice = bookingRepository.findByItemOwnerIdAfter(ownerId,
+                        cursor.getStart(), cursor.getId(), page);
+            break;
+        }
+
+        return bookingSlice;
     }
 
     private void validDates(LocalDateTime start, LocalDateTime end) {
@@ -171,16 +336,46 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    private void checkNotBooked(long itemId, LocalDateTime start, LocalDateTime end) {
+
+        if (bookingIntervalIndex.isBooked(itemId, start, end)) {
+            throw new DataBadRequestException("Item id = " + itemId + " is already booked for this period");
+        }
+    }
+
+    private void reserve(Booking booking) {
+
+        long itemId = booking.getItem().getId();
+
+        if (!bookingIntervalIndex.reserve(itemId, booking.getBooker().getId(), booking.getStart(), booking.getEnd())) {
+            throw new DataBadRequestException("Item id = " + itemId + " is already booked for this period");
+        }
+    }
+
     private User getUser(long userId) {
 
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new DataNotFoundException("User with id = " + userId + " not found"));
+        return userCache.get(userId);
+    }
+
+    private void checkBookable(CreateBookingDto createBookingDto, Item item) {
+
+        if (item.getOwnerId() == createBookingDto.getBookerId()) {
+            throw new DataNotFoundException("Owner can not booking item");
+        }
+
+        checkNotBooked(item.getId(), createBookingDto.getStart(), createBookingDto.getEnd());
     }
 
     private Item getItemIfAvailable(long itemId) {
 
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new DataNotFoundException("Item with id = " + itemId + " not found"));
+        return checkAvailable(itemId, itemRepository.findById(itemId).orElse(null));
+    }
+
+    private Item checkAvailable(long itemId, Item item) {
+
+        if (item == null) {
+            throw new DataNotFoundException("Item with id = " + itemId + " not found");
+        }
 
         if (!item.getAvailable()) {
             throw new DataBadRequestException("Item id = " + itemId + " is not available");
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Data;
+
+@Data
+public class ResponseBatchBookingDto {
+
+    private int status;
+
+    private ResponseBookingDto booking;
+
+    private String error;
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -8,6 +9,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class ResponseBookingDto {
 
     private long id;
@@ -21,4 +23,28 @@ public class ResponseBookingDto {
     private UserDto booker;
 
     private Status status;
+
+    public ResponseBookingDto(Long id, LocalDateTime start, LocalDateTime end, Status status,
+                              Long itemId, String itemName, String itemDescription, Boolean itemAvailable,
+                              Long itemOwnerId, Long itemRequestId,
+                              Long bookerId, String bookerName, String bookerEmail) {
+
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.status = status;
+
+        item = new ItemDto();
+        item.setId(itemId);
+        item.setName(itemName);
+        item.setDescription(itemDescription);
+        item.setAvailable(itemAvailable);
+        item.setOwner(itemOwnerId);
+        item.setRequestId(itemRequestId);
+
+        booker = new UserDto();
+        booker.setId(bookerId);
+        booker.setName(bookerName);
+        booker.setEmail(bookerEmail);
+    }
 }
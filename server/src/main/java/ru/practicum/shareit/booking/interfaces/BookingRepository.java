@@ -1,10 +1,13 @@
 package ru.practicum.shareit.booking.interfaces;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.NearestBooking;
 import ru.practicum.shareit.booking.model.Status;
 
 import java.time.LocalDateTime;
@@ -12,48 +15,117 @@ import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    public Page<Booking> findByBookerIdOrderByStartDesc(long bookerId, PageRequest page);
-
-    @Query(value = "SELECT b FROM Booking AS b WHERE b.booker.id = ?1 AND " +
-            "b.start < CURRENT_TIMESTAMP AND b.end > CURRENT_TIMESTAMP ORDER BY b.start DESC")
-    public Page<Booking> findByBookerIdWithCurrentState(long bookerId, PageRequest page);
-
-    @Query(value = "SELECT b FROM Booking AS b WHERE b.booker.id = ?1 AND " +
-            "b.end < CURRENT_TIMESTAMP ORDER BY b.start DESC")
-    public Page<Booking> findByBookerIdWithPastState(long bookerId, PageRequest page);
-
-    @Query(value = "SELECT b FROM Booking AS b WHERE b.booker.id = ?1 AND " +
-            "b.start > CURRENT_TIMESTAMP ORDER BY b.start DESC")
-    public Page<Booking> findByBookerIdWithFutureState(long bookerId, PageRequest page);
-
-    public Page<Booking> findByBookerIdAndStatusOrderByStartDesc(long bookerId, Status status, PageRequest page);
-
-    public Page<Booking> findByItemOwnerIdOrderByStartDesc(long ownerId, PageRequest page);
-
-    @Query(value = "SELECT b FROM Booking AS b WHERE b.item.ownerId = ?1 AND " +
-            "b.start < CURRENT_TIMESTAMP AND b.end > CURRENT_TIMESTAMP ORDER BY b.start DESC")
-    public Page<Booking> findByItemOwnerIdWithCurrentState(long ownerId, PageRequest page);
-
-    @Query(value = "SELECT b FROM Booking AS b WHERE b.item.ownerId = ?1 AND " +
-            "b.end < CURRENT_TIMESTAMP ORDER BY b.start DESC")
-    public Page<Booking> findByItemOwnerIdWithPastState(long ownerId, PageRequest page);
-
-    @Query(value = "SELECT b FROM Booking AS b WHERE b.item.ownerId = ?1 AND " +
-            "b.start > CURRENT_TIMESTAMP ORDER BY b.start DESC")
-    public Page<Booking> findByItemOwnerIdWithFutureState(long ownerId, PageRequest page);
-
-    public Page<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(long ownerId, Status status, PageRequest page);
-
-    @Query(value = "SELECT * FROM bookings WHERE (item_id = ?1 AND " +
-            "start_date < CURRENT_TIMESTAMP AND status = ?2) ORDER BY start_date DESC LIMIT 1;", nativeQuery = true)
-    public Booking findLastBookingItem(long itemId, String status);
-
-    @Query(value = "SELECT * FROM bookings WHERE (item_id = ?1 AND " +
-            "start_date > CURRENT_TIMESTAMP AND status = ?2) ORDER BY start_date LIMIT 1;", nativeQuery = true)
-    public Booking findNextBookingItem(long itemId, String status);
+    String RESPONSE_BOOKING_SELECT = "SELECT new ru.practicum.shareit.booking.dto.ResponseBookingDto(" +
+            "b.id, b.start, b.end, b.status, i.id, i.name, i.description, i.available, i.ownerId, i.request.id, " +
+            "u.id, u.name, u.email) FROM Booking AS b JOIN b.item AS i JOIN b.booker AS u ";
+
+    String NEAREST_BOOKING_SELECT = "SELECT nearest.item_id AS itemId, nearest.id AS id, " +
+            "nearest.booker_id AS bookerId, nearest.start_date AS startDate, nearest.past AS past " +
+            "FROM (SELECT b.id, b.item_id, b.booker_id, b.start_date, " +
+            "b.start_date < ?2 AS past, ROW_NUMBER() OVER (PARTITION BY b.item_id, b.start_date < ?2 ORDER BY " +
+            "CASE WHEN b.start_date < ?2 THEN b.start_date END DESC, b.start_date, b.id) AS rn FROM bookings AS b " +
+            "WHERE b.status = ?3 AND b.start_date <> ?2 AND ";
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.booker.id = ?1 ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByBookerIdOrderByStartDesc(long bookerId, PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.booker.id = ?1 AND " +
+            "b.start < CURRENT_TIMESTAMP AND b.end > CURRENT_TIMESTAMP ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByBookerIdWithCurrentState(long bookerId, PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.booker.id = ?1 AND " +
+            "b.end < CURRENT_TIMESTAMP ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByBookerIdWithPastState(long bookerId, PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.booker.id = ?1 AND " +
+            "b.start > CURRENT_TIMESTAMP ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByBookerIdWithFutureState(long bookerId, PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.booker.id = ?1 AND b.status = ?2 ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByBookerIdAndStatusOrderByStartDesc(long bookerId, Status status, PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.itemOwnerId = ?1 ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByItemOwnerIdOrderByStartDesc(long ownerId, PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.itemOwnerId = ?1 AND " +
+            "b.start < CURRENT_TIMESTAMP AND b.end > CURRENT_TIMESTAMP ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByItemOwnerIdWithCurrentState(long ownerId, PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.itemOwnerId = ?1 AND " +
+            "b.end < CURRENT_TIMESTAMP ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByItemOwnerIdWithPastState(long ownerId, PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.itemOwnerId = ?1 AND " +
+            "b.start > CURRENT_TIMESTAMP ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByItemOwnerIdWithFutureState(long ownerId, PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.itemOwnerId = ?1 AND b.status = ?2 ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByItemOwnerIdAndStatusOrderByStartDesc(long ownerId, Status status, PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.booker.id = ?1 AND " +
+            "(b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByBookerIdAfter(long bookerId, LocalDateTime start, long id, PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.booker.id = ?1 AND " +
+            "b.start < CURRENT_TIMESTAMP AND b.end > CURRENT_TIMESTAMP AND " +
+            "(b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByBookerIdWithCurrentStateAfter(long bookerId, LocalDateTime start, long id,
+                                                              PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.booker.id = ?1 AND " +
+            "b.end < CURRENT_TIMESTAMP AND " +
+            "(b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByBookerIdWithPastStateAfter(long bookerId, LocalDateTime start, long id,
+                                                           PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.booker.id = ?1 AND " +
+            "b.start > CURRENT_TIMESTAMP AND " +
+            "(b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByBookerIdWithFutureStateAfter(long bookerId, LocalDateTime start, long id,
+                                                             PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.booker.id = ?1 AND b.status = ?2 AND " +
+            "(b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByBookerIdAndStatusAfter(long bookerId, Status status, LocalDateTime start, long id,
+                                                       PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.itemOwnerId = ?1 AND " +
+            "(b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByItemOwnerIdAfter(long ownerId, LocalDateTime start, long id, PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.itemOwnerId = ?1 AND " +
+            "b.start < CURRENT_TIMESTAMP AND b.end > CURRENT_TIMESTAMP AND " +
+            "(b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByItemOwnerIdWithCurrentStateAfter(long ownerId, LocalDateTime start, long id,
+                                                                 PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.itemOwnerId = ?1 AND " +
+            "b.end < CURRENT_TIMESTAMP AND " +
+            "(b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByItemOwnerIdWithPastStateAfter(long ownerId, LocalDateTime start, long id,
+                                                              PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.itemOwnerId = ?1 AND " +
+            "b.start > CURRENT_TIMESTAMP AND " +
+            "(b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByItemOwnerIdWithFutureStateAfter(long ownerId, LocalDateTime start, long id,
+                                                                PageRequest page);
+
+    @Query(value = RESPONSE_BOOKING_SELECT + "WHERE b.itemOwnerId = ?1 AND b.status = ?2 AND " +
+            "(b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) ORDER BY b.start DESC, b.id DESC")
+    public Slice<ResponseBookingDto> findByItemOwnerIdAndStatusAfter(long ownerId, Status status, LocalDateTime start, long id,
+                                                          PageRequest page);
+
+    @Query(value = NEAREST_BOOKING_SELECT + "b.item_id IN (?1)) AS nearest WHERE nearest.rn = 1",
+            nativeQuery = true)
+    public List<NearestBooking> findNearestBookingsByItemIds(List<Long> itemIds, LocalDateTime now, String status);
 
     public boolean existsByItemIdAndBookerIdAndEndBefore(long itemId, long bookerId, LocalDateTime now);
 
-    @Query(value = "SELECT b FROM Booking AS b WHERE b.item.id IN (?1) AND b.status = ?2 ORDER BY b.start")
-    public List<Booking> findByItemIdAndStatusOrderByStart(List<Long> itemId, Status status);
+    @Query(value = "SELECT b.item.id AS itemId, b.booker.id AS bookerId, b.start AS start, b.end AS end " +
+            "FROM Booking AS b WHERE b.status = ?1 AND b.end > ?2 ORDER BY b.item.id, b.start")
+    public List<BookingInterval> findIntervalsByStatusAndEndAfter(Status status, LocalDateTime end);
+
+    @Query("SELECT DISTINCT b.item.id FROM Booking AS b WHERE b.booker.id = ?1")
+    public List<Long> findItemIdsByBookerId(long bookerId);
 }
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.interfaces;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.ResponseBatchBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 
 import java.util.List;
@@ -9,6 +11,8 @@ public interface BookingService {
 
     public ResponseBookingDto addBooking(CreateBookingDto createBookingDto);
 
+    public List<ResponseBatchBookingDto> addBookings(long bookerId, List<CreateBookingDto> createBookingDtoList);
+
     public ResponseBookingDto approveBooking(long ownerId, long bookingId, boolean approved);
 
     public ResponseBookingDto getBooking(long userId, long bookingId);
@@ -16,4 +20,9 @@ public interface BookingService {
     public List<ResponseBookingDto> getAllBooking(long bookerId, String stringState, Integer from, Integer size);
 
     public List<ResponseBookingDto> getAllOwnerBooking(long ownerId, String stringState, Integer from, Integer size);
+
+    public Slice<ResponseBookingDto> getAllBookingAfter(long bookerId, String stringState, String after, Integer size);
+
+    public Slice<ResponseBookingDto> getAllOwnerBookingAfter(long ownerId, String stringState, String after,
+                                                             Integer size);
 }
@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "start_date", nullable = false)
@@ -30,7 +31,20 @@ public class Booking {
     @JoinColumn(name = "booker_id", nullable = false)
     private User booker;
 
+    @Column(name = "item_owner_id", nullable = false)
+    private Long itemOwnerId;
+
     @Column(name = "status", nullable = false)
     @Enumerated(EnumType.STRING)
     private Status status;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
+    @PrePersist
+    private void fillItemOwnerId() {
+
+        itemOwnerId = item.getOwnerId();
+    }
 }
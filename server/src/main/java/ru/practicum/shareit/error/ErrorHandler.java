@@ -2,6 +2,7 @@ package ru.practicum.shareit.error;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
@@ -75,6 +76,15 @@ public class ErrorHandler {
         return new ErrorResponse(exception.getErrorMessage(), exception.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handle(final OptimisticLockingFailureException exception) {
+
+        log.info("Get OptimisticLockingFailureException, {}", exception.getMessage());
+
+        return new ErrorResponse("Concurrent modification", "Data was changed by another request, try again");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handle(final DataIntegrityViolationException exception) {
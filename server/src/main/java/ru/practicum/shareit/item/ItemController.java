@@ -2,6 +2,8 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
@@ -19,6 +21,8 @@ import java.util.List;
 @Validated
 public class ItemController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ItemService itemService;
 
     @PostMapping
@@ -68,19 +72,33 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ResponseItemDto> getItems(@RequestHeader("X-Sharer-User-Id") long ownerId) {
+    public ResponseEntity<List<ResponseItemDto>> getItems(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                          @RequestParam(defaultValue = "0") Long after,
+                                                          @RequestParam(defaultValue = "50") Integer size) {
+
+        log.info("Call 'getItems': userId = {}, after = {}, size = {}", ownerId, after, size);
+
+        Slice<ResponseItemDto> itemSlice = itemService.getItems(ownerId, after, size);
+
+        if (!itemSlice.hasNext()) {
+            return ResponseEntity.ok(itemSlice.getContent());
+        }
 
-        log.info("Call 'getItems': userId = {}", ownerId);
+        List<ResponseItemDto> itemList = itemSlice.getContent();
 
-        return itemService.getItems(ownerId);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, String.valueOf(itemList.get(itemList.size() - 1).getId()))
+                .body(itemList);
     }
 
     @GetMapping(value = "/search")
     public List<ItemDto> searchItems(@RequestHeader("X-Sharer-User-Id") long userId,
-                                     @RequestParam String text) {
+                                     @RequestParam String text,
+                                     @RequestParam(defaultValue = "0") Integer from,
+                                     @RequestParam(defaultValue = "50") Integer size) {
 
-        log.info("Call 'searchItems': userId = {}, text = '{}'", userId, text);
+        log.info("Call 'searchItems': userId = {}, text = '{}', from = {}, size = {}", userId, text, from, size);
 
-        return itemService.searchItems(userId, text);
+        return itemService.searchItems(userId, text, from, size);
     }
 }
@@ -1,11 +1,12 @@
 package ru.practicum.shareit.item;
 
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.NearestBooking;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ResponseCommentDto;
 import ru.practicum.shareit.item.dto.ResponseItemDto;
 import ru.practicum.shareit.item.dto.ResponseRequestItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
 import ru.practicum.shareit.request.model.Request;
 
 import java.util.List;
@@ -34,8 +35,8 @@ public class ItemMapper {
         return itemDto;
     }
 
-    public static ResponseItemDto toResponseItemDto(Item item, Booking lastBooking,
-                                                    Booking nextBooking, List<ResponseCommentDto> comments) {
+    public static ResponseItemDto toResponseItemDto(Item item, NearestBooking lastBooking,
+                                                    NearestBooking nextBooking, List<ResponseCommentDto> comments) {
 
         if (item == null) {
             throw new IllegalArgumentException("Parameter item in method toItemDto must be non-null");
@@ -56,11 +57,40 @@ public class ItemMapper {
         }
 
         if (lastBooking != null) {
-            responseItemDto.setLastBooking(lastBooking.getId(), lastBooking.getBooker().getId());
+            responseItemDto.setLastBooking(lastBooking.getId(), lastBooking.getBookerId());
         }
 
         if (nextBooking != null) {
-            responseItemDto.setNextBooking(nextBooking.getId(), nextBooking.getBooker().getId());
+            responseItemDto.setNextBooking(nextBooking.getId(), nextBooking.getBookerId());
+        }
+
+        responseItemDto.setComments(comments);
+
+        return responseItemDto;
+    }
+
+    public static ResponseItemDto toResponseItemDto(ItemSummary summary, boolean withBookings,
+                                                    List<ResponseCommentDto> comments) {
+
+        if (summary == null) {
+            throw new IllegalArgumentException("Parameter summary in method toResponseItemDto must be non-null");
+        }
+
+        ResponseItemDto responseItemDto = new ResponseItemDto();
+
+        responseItemDto.setId(summary.getItemId());
+        responseItemDto.setName(summary.getName());
+        responseItemDto.setDescription(summary.getDescription());
+        responseItemDto.setAvailable(summary.getAvailable());
+        responseItemDto.setOwner(summary.getOwnerId());
+        responseItemDto.setRequest(summary.getRequestId());
+
+        if (withBookings && summary.getLastBookingId() != null) {
+            responseItemDto.setLastBooking(summary.getLastBookingId(), summary.getLastBookerId());
+        }
+
+        if (withBookings && summary.getNextBookingId() != null) {
+            responseItemDto.setNextBooking(summary.getNextBookingId(), summary.getNextBookerId());
         }
 
         responseItemDto.setComments(comments);
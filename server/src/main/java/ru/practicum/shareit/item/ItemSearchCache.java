@@ -0,0 +1,184 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class ItemSearchCache {
+
+    private final boolean enabled;
+
+    private final Cache<SearchKey, List<ItemDto>> cache;
+
+    private final Map<String, Set<SearchKey>> keysByText = new ConcurrentHashMap<>();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ItemSearchCache(@Value("${shareit.item-search-cache.ttl:1m}") Duration ttl,
+                           @Value("${shareit.item-search-cache.maximum-weight:100000}") long maximumWeight,
+                           MeterRegistry meterRegistry) {
+
+        enabled = maximumWeight > 0 && !ttl.isZero();
+
+        cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumWeight(maximumWeight)
+                .weigher((SearchKey key, List<ItemDto> items) -> 1 + items.size())
+                .removalListener(this::onRemoval)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "itemSearch");
+    }
+
+    public List<ItemDto> get(String text, int from, int size, Supplier<List<ItemDto>> loader) {
+
+        if (!enabled) {
+            return loader.get();
+        }
+
+        SearchKey key = new SearchKey(text.toLowerCase(), from, size);
+        List<ItemDto> items = cache.getIfPresent(key);
+
+        if (items == null) {
+            long loadEvictions = evictions.get();
+            items = List.copyOf(loader.get());
+
+            cache.put(key, items);
+            link(key);
+
+            if (evictions.get() != loadEvictions) {
+                invalidate(key);
+            }
+        }
+
+        return items;
+    }
+
+    public void evict(ItemDto... items) {
+
+        if (!enabled || Arrays.stream(items).filter(Objects::nonNull).noneMatch(this::isAvailable)) {
+            return;
+        }
+
+        afterCommit(() -> evictNow(items));
+    }
+
+    public void evictAll() {
+
+        if (!enabled) {
+            return;
+        }
+
+        afterCommit(() -> {
+            evictions.incrementAndGet();
+            cache.invalidateAll();
+            keysByText.clear();
+        });
+    }
+
+    public long size() {
+
+        return cache.estimatedSize();
+    }
+
+    private void evictNow(ItemDto... items) {
+
+        evictions.incrementAndGet();
+
+        for (String text : keysByText.keySet()) {
+            if (Arrays.stream(items).filter(Objects::nonNull).anyMatch(item -> matches(item, text))) {
+                Set<SearchKey> keys = keysByText.remove(text);
+                if (keys != null) {
+                    cache.invalidateAll(keys);
+                }
+            }
+        }
+    }
+
+    private void invalidate(SearchKey key) {
+
+        cache.invalidate(key);
+        unlink(key);
+    }
+
+    private void onRemoval(SearchKey key, List<ItemDto> items, RemovalCause cause) {
+
+        if (key != null) {
+            unlink(key);
+        }
+    }
+
+    private void link(SearchKey key) {
+
+        keysByText.compute(key.getText(), (text, keys) -> {
+            Set<SearchKey> linked = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            linked.add(key);
+            return linked;
+        });
+    }
+
+    private void unlink(SearchKey key) {
+
+        keysByText.computeIfPresent(key.getText(), (text, keys) -> {
+            if (!cache.asMap().containsKey(key)) {
+                keys.remove(key);
+            }
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private boolean isAvailable(ItemDto item) {
+
+        return Boolean.TRUE.equals(item.getAvailable());
+    }
+
+    private boolean matches(ItemDto item, String text) {
+
+        return isAvailable(item) && (item.getName() != null && item.getName().toLowerCase().contains(text)
+                || item.getDescription() != null && item.getDescription().toLowerCase().contains(text));
+    }
+
+    private static void afterCommit(Runnable action) {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Data
+    private static class SearchKey {
+
+        private final String text;
+
+        private final int from;
+
+        private final int size;
+    }
+}
@@ -0,0 +1,399 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.model.ItemBookingCount;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Component
+public class ItemSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<Long, Document> documents = new TreeMap<>();
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    private final Map<Long, Long> bookingCounts = new HashMap<>();
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.item-search-index.enabled:false}") boolean enabled) {
+
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+
+        if (!enabled) {
+            return;
+        }
+
+        List<ItemDto> items = itemRepository.findAllItemDtos();
+        List<ItemBookingCount> counts = itemRepository.countBookingsByStatus(Status.APPROVED);
+
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            bookingCounts.clear();
+            items.forEach(item -> insert(new Document(item)));
+            counts.forEach(count -> bookingCounts.put(count.getItemId(), count.getBookings()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(ItemDto itemDto) {
+
+        if (!enabled) {
+            return;
+        }
+
+        Document document = new Document(itemDto);
+        Document previous;
+
+        lock.writeLock().lock();
+        try {
+            previous = documents.get(document.id);
+            if (previous != null) {
+                delete(previous);
+            }
+            insert(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        revert(document, previous);
+                    }
+                }
+            });
+        }
+    }
+
+    public void removeOwner(long ownerId) {
+
+        if (!enabled) {
+            return;
+        }
+
+        List<Document> removed = new ArrayList<>();
+        Map<Long, Long> removedCounts = new HashMap<>();
+
+        lock.writeLock().lock();
+        try {
+            for (Document document : documents.values()) {
+                if (document.item.getOwner() == ownerId) {
+                    removed.add(document);
+                }
+            }
+            for (Document document : removed) {
+                delete(document);
+                Long count = bookingCounts.remove(document.id);
+                if (count != null) {
+                    removedCounts.put(document.id, count);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(removed, removedCounts);
+                    }
+                }
+            });
+        }
+    }
+
+    public void addBooking(long itemId) {
+
+        if (!enabled) {
+            return;
+        }
+
+        changeBookingCount(itemId, 1);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        changeBookingCount(itemId, -1);
+                    }
+                }
+            });
+        }
+    }
+
+    public List<ItemDto> search(String text, int from, int size) {
+
+        String query = text.toLowerCase();
+        List<Match> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (Document document : candidates(query)) {
+                if (document.matches(query)) {
+                    matches.add(new Match(document, document.name.contains(query),
+                            bookingCounts.getOrDefault(document.id, 0L)));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return matches.stream()
+                .sorted(Comparator.comparing((Match match) -> !match.nameMatch)
+                        .thenComparing(match -> match.bookings, Comparator.reverseOrder())
+                        .thenComparing(match -> match.document.id))
+                .skip(from)
+                .limit(size)
+                .map(match -> match.document.toItemDto())
+                .collect(Collectors.toList());
+    }
+
+    private Collection<Document> candidates(String query) {
+
+        if (query.length() < GRAM_LENGTH) {
+            return documents.values();
+        }
+
+        List<Postings> lists = new ArrayList<>();
+        for (long gram : grams(query)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        int[] ids = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        int size = ids.length;
+
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            int kept = 0;
+            for (int j = 0; j < size; j++) {
+                if (lists.get(i).contains(ids[j])) {
+                    ids[kept++] = ids[j];
+                }
+            }
+            size = kept;
+        }
+
+        List<Document> candidates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            candidates.add(documents.get((long) ids[i]));
+        }
+
+        return candidates;
+    }
+
+    private void changeBookingCount(long itemId, long delta) {
+
+        lock.writeLock().lock();
+        try {
+            bookingCounts.merge(itemId, delta, (count, change) -> count + change == 0 ? null : count + change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void revert(Document document, Document previous) {
+
+        lock.writeLock().lock();
+        try {
+            if (documents.get(document.id) != document) {
+                return;
+            }
+            delete(document);
+            if (previous != null) {
+                insert(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void restore(List<Document> removed, Map<Long, Long> removedCounts) {
+
+        lock.writeLock().lock();
+        try {
+            for (Document document : removed) {
+                if (!documents.containsKey(document.id)) {
+                    insert(document);
+                }
+            }
+            removedCounts.forEach((itemId, count) -> bookingCounts.merge(itemId, count, Long::sum));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(Document document) {
+
+        documents.put(document.id, document);
+
+        int id = Math.toIntExact(document.id);
+        for (long gram : document.grams()) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+        }
+    }
+
+    private void delete(Document document) {
+
+        documents.remove(document.id);
+
+        int id = Math.toIntExact(document.id);
+        for (long gram : document.grams()) {
+            Postings list = postings.get(gram);
+            list.remove(id);
+            if (list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<Long> grams(String... texts) {
+
+        Set<Long> grams = new TreeSet<>();
+
+        for (String text : texts) {
+            for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+                grams.add((long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2));
+            }
+        }
+
+        return grams;
+    }
+
+    private static class Match {
+
+        private final Document document;
+        private final boolean nameMatch;
+        private final long bookings;
+
+        private Match(Document document, boolean nameMatch, long bookings) {
+
+            this.document = document;
+            this.nameMatch = nameMatch;
+            this.bookings = bookings;
+        }
+    }
+
+    private static class Document {
+
+        private final Long id;
+        private final ItemDto item;
+        private final String name;
+        private final String description;
+
+        private Document(ItemDto itemDto) {
+
+            id = itemDto.getId();
+            item = toItemDto(itemDto);
+            name = itemDto.getName().toLowerCase();
+            description = itemDto.getDescription() == null ? null : itemDto.getDescription().toLowerCase();
+        }
+
+        private Set<Long> grams() {
+
+            return description == null ? ItemSearchIndex.grams(name) : ItemSearchIndex.grams(name, description);
+        }
+
+        private boolean matches(String query) {
+
+            return item.getAvailable() && (name.contains(query) || description != null && description.contains(query));
+        }
+
+        private ItemDto toItemDto() {
+
+            return toItemDto(item);
+        }
+
+        private static ItemDto toItemDto(ItemDto source) {
+
+            return new ItemDto(source.getId(), source.getName(), source.getDescription(), source.getAvailable(),
+                    source.getOwner(), source.getRequestId());
+        }
+    }
+
+    private static class Postings {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        private boolean contains(int id) {
+
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void add(int id) {
+
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        private void remove(int id) {
+
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return;
+            }
+
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.interfaces.BookingRepository;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.NearestBooking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.exception.DataBadRequestException;
 import ru.practicum.shareit.exception.DataNotFoundException;
@@ -14,11 +18,13 @@ import ru.practicum.shareit.item.dto.ResponseItemDto;
 import ru.practicum.shareit.item.interfaces.CommentRepository;
 import ru.practicum.shareit.item.interfaces.ItemRepository;
 import ru.practicum.shareit.item.interfaces.ItemService;
+import ru.practicum.shareit.item.interfaces.ItemSummaryRepository;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
 import ru.practicum.shareit.request.interfaces.RequestRepository;
 import ru.practicum.shareit.request.model.Request;
-import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.UserCache;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
@@ -27,15 +33,21 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final RequestRepository requestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemSummaryRepository itemSummaryRepository;
+    private final ItemSummaryUpdater itemSummaryUpdater;
 
     @Override
+    @Transactional
     public ItemDto addItem(ItemDto itemDto) {
 
         validUser(itemDto.getOwner());
@@ -52,10 +64,16 @@ public class ItemServiceImpl implements ItemService {
             item = itemRepository.save(ItemMapper.toItem(itemDto, null));
         }
 
-        return ItemMapper.toItemDto(item);
+        ItemDto savedItemDto = ItemMapper.toItemDto(item);
+        itemSearchIndex.put(savedItemDto);
+        itemSearchCache.evict(savedItemDto);
+        itemSummaryUpdater.refresh(item.getId());
+
+        return savedItemDto;
     }
 
     @Override
+    @Transactional
     public ItemDto updateItem(ItemDto itemDto) {
 
         validUser(itemDto.getOwner());
@@ -63,6 +81,8 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(itemDto.getId())
                 .orElseThrow(() -> new DataNotFoundException("Item with id = " + itemDto.getId() + " not found"));
 
+        ItemDto previousItemDto = ItemMapper.toItemDto(item);
+
         if (itemDto.getName() != null) {
             item.setName(itemDto.getName());
         }
@@ -75,7 +95,17 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(itemDto.getAvailable());
         }
 
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        ItemDto savedItemDto = ItemMapper.toItemDto(itemRepository.save(item));
+        itemSearchIndex.put(savedItemDto);
+        itemSummaryUpdater.refresh(item.getId());
+
+        if (!Objects.equals(previousItemDto.getName(), savedItemDto.getName())
+                || !Objects.equals(previousItemDto.getDescription(), savedItemDto.getDescription())
+                || !Objects.equals(previousItemDto.getAvailable(), savedItemDto.getAvailable())) {
+            itemSearchCache.evict(previousItemDto, savedItemDto);
+        }
+
+        return savedItemDto;
     }
 
     @Override
@@ -83,98 +113,90 @@ public class ItemServiceImpl implements ItemService {
 
         validUser(userId);
 
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new DataNotFoundException("Item with id = " + itemId + " not found"));
+        Optional<ItemSummary> summary = itemSummaryRepository.findById(itemId);
 
-        Booking lastBooking = null;
-        Booking nextBooking = null;
-
-        if (item.getOwnerId() == userId) {
-            lastBooking = bookingRepository.findLastBookingItem(itemId, Status.APPROVED.toString());
-            nextBooking = bookingRepository.findNextBookingItem(itemId, Status.APPROVED.toString());
+        if (summary.isPresent()) {
+            return toResponseItemDtos(List.of(summary.get()), userId).get(0);
         }
 
-        List<Comment> comments = commentRepository.findByItemId(itemId);
-        List<ResponseCommentDto> commentsDto = CommentMapper.toResponseCommentDto(comments);
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new DataNotFoundException("Item with id = " + itemId + " not found"));
 
-        return ItemMapper.toResponseItemDto(item, lastBooking, nextBooking, commentsDto);
+        return toResponseItemDtosFromItems(List.of(item), userId).get(0);
     }
 
     @Override
-    public List<ResponseItemDto> getItems(long ownerId) {
-
-        LocalDateTime now = LocalDateTime.now();
-
-        validUser(ownerId);
-
-        List<Item> items = itemRepository.findByOwnerIdOrderById(ownerId);
-
-        List<Long> itemsId = items.stream()
-                .map(Item::getId)
-                .collect(Collectors.toList());
-
-        List<Booking> bookings = bookingRepository.findByItemIdAndStatusOrderByStart(itemsId, Status.APPROVED);
-        Map<Long, List<Booking>> bookingListMap = new HashMap<>();
-
-        for (Booking booking : bookings) {
+    public Slice<ResponseItemDto> getItems(long ownerId, Long after, Integer size) {
 
-            long itemId = booking.getItem().getId();
-
-            if (bookingListMap.get(itemId) == null) {
-                bookingListMap.put(itemId, new ArrayList<>(List.of(booking)));
-            } else {
-                bookingListMap.get(itemId).add(booking);
-            }
+        if (size < 1) {
+            throw new DataBadRequestException("Parameter 'size' in method getItems mast be > 0");
         }
 
-        List<Comment> comments = commentRepository.findByItemsId(itemsId);
+        if (after < 0) {
+            throw new DataBadRequestException("Parameter 'after' in method getItems mast be >= 0");
+        }
 
-        return items.stream()
-                .map(item -> {
+        validUser(ownerId);
 
-                    List<Comment> commentForItem = comments.stream()
-                        .filter(comment -> comment.getItem().getId().equals(item.getId()))
-                        .collect(Collectors.toList());
+        Slice<Long> itemIdSlice = itemRepository.findIdsByOwnerIdAndIdGreaterThan(ownerId, after,
+                PageRequest.of(0, size));
 
-                    List<Booking> bookingList = bookingListMap.get(item.getId());
+        List<ItemSummary> summaries = itemSummaryRepository.findAllById(itemIdSlice.getContent());
 
-                    if (bookingList == null) {
-                        return ItemMapper.toResponseItemDto(item, null, null,
-                                CommentMapper.toResponseCommentDto(commentForItem));
-                    }
+        Set<Long> summarizedItemsId = summaries.stream()
+                .map(ItemSummary::getItemId)
+                .collect(Collectors.toSet());
 
-                    Booking nextBooking = bookingList.stream()
-                            .filter(booking -> booking.getStart().isAfter(now))
-                            .findFirst().orElse(null);
+        List<Long> unsummarizedItemsId = itemIdSlice.stream()
+                .filter(itemId -> !summarizedItemsId.contains(itemId))
+                .collect(Collectors.toList());
 
-                    Collections.reverse(bookingList);
+        Map<Long, ResponseItemDto> responseItemDtos = new HashMap<>();
 
-                    Booking lastBooking = bookingList.stream()
-                            .filter(booking -> booking.getStart().isBefore(now))
-                            .findFirst().orElse(null);
+        toResponseItemDtos(summaries, ownerId)
+                .forEach(responseItemDto -> responseItemDtos.put(responseItemDto.getId(), responseItemDto));
 
-                    return ItemMapper.toResponseItemDto(item, lastBooking, nextBooking,
-                                CommentMapper.toResponseCommentDto(commentForItem));
+        if (!unsummarizedItemsId.isEmpty()) {
+            toResponseItemDtosFromItems(itemRepository.findAllById(unsummarizedItemsId), ownerId)
+                    .forEach(responseItemDto -> responseItemDtos.put(responseItemDto.getId(), responseItemDto));
+        }
 
-                })
-                .collect(Collectors.toList());
+        return new SliceImpl<>(itemIdSlice.stream()
+                .map(responseItemDtos::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()),
+                itemIdSlice.getPageable(), itemIdSlice.hasNext());
     }
 
     @Override
-    public List<ItemDto> searchItems(long userId, String text) {
+    public List<ItemDto> searchItems(long userId, String text, Integer from, Integer size) {
+
+        if (size < 1) {
+            throw new DataBadRequestException("Parameter 'size' in method searchItems mast be > 0");
+        }
+
+        if (from < 0) {
+            throw new DataBadRequestException("Parameter 'from' in method searchItems mast be >= 0");
+        }
 
         validUser(userId);
 
-        return itemRepository.findByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(text, text).stream()
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
+        PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
+
+        return itemSearchCache.get(text, (int) page.getOffset(), size, () -> {
+            if (itemSearchIndex.isEnabled()) {
+                return itemSearchIndex.search(text, (int) page.getOffset(), size);
+            }
+
+            return itemRepository.searchAvailable(toContainsPattern(text), Status.APPROVED, page).getContent();
+        });
     }
 
     @Override
+    @Transactional
     public ResponseCommentDto addComment(CreateCommentDto createCommentDto) {
 
-        User author = userRepository.findById(createCommentDto.getAuthorId())
-                .orElseThrow(() -> new DataNotFoundException("User with id = " + createCommentDto.getAuthorId() + " not found"));
+        User author = userCache.get(createCommentDto.getAuthorId());
 
         Item item = itemRepository.findById(createCommentDto.getItemId())
                 .orElseThrow(() -> new DataNotFoundException("Item with id = " + createCommentDto.getItemId() + " not found"));
@@ -184,6 +206,7 @@ public class ItemServiceImpl implements ItemService {
 
         if (isBooking) {
             Comment comment = commentRepository.save(CommentMapper.toComment(createCommentDto, item, author));
+            itemSummaryUpdater.refresh(item.getId());
             return CommentMapper.toResponseCommentDto(comment);
         }
 
@@ -193,8 +216,80 @@ public class ItemServiceImpl implements ItemService {
 
     private void validUser(long userId) {
 
-        if (!userRepository.existsById(userId)) {
+        if (!userCache.exists(userId)) {
             throw new DataNotFoundException("User with id = " + userId + " not found");
         }
     }
+
+    private List<ResponseItemDto> toResponseItemDtos(List<ItemSummary> summaries, long userId) {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        Set<Long> staleItemsId = summaries.stream()
+                .filter(summary -> summary.getOwnerId() == userId && ItemSummaryUpdater.isStale(summary, now))
+                .map(ItemSummary::getItemId)
+                .collect(Collectors.toSet());
+
+        Map<Long, List<NearestBooking>> bookingsByItem = staleItemsId.isEmpty() ? Map.of() : bookingRepository
+                .findNearestBookingsByItemIds(new ArrayList<>(staleItemsId), now, Status.APPROVED.toString()).stream()
+                .collect(Collectors.groupingBy(NearestBooking::getItemId));
+
+        return summaries.stream()
+                .map(summary -> staleItemsId.contains(summary.getItemId()) ? ItemSummaryUpdater
+                        .withBookings(summary, bookingsByItem.getOrDefault(summary.getItemId(), List.of())) : summary)
+                .map(summary -> ItemMapper.toResponseItemDto(summary, summary.getOwnerId() == userId,
+                        itemSummaryUpdater.readComments(summary)))
+                .collect(Collectors.toList());
+    }
+
+    private List<ResponseItemDto> toResponseItemDtosFromItems(List<Item> items, long userId) {
+
+        List<Long> ownItemsId = items.stream()
+                .filter(item -> item.getOwnerId() == userId)
+                .map(Item::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, List<NearestBooking>> bookingsByItem = ownItemsId.isEmpty() ? Map.of() : bookingRepository
+                .findNearestBookingsByItemIds(ownItemsId, LocalDateTime.now(), Status.APPROVED.toString()).stream()
+                .collect(Collectors.groupingBy(NearestBooking::getItemId));
+
+        Map<Long, List<Comment>> commentsByItem = commentRepository.findByItemsId(items.stream()
+                        .map(Item::getId)
+                        .collect(Collectors.toList())).stream()
+                .sorted(Comparator.comparing(Comment::getId))
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+
+        return items.stream()
+                .map(item -> toResponseItemDto(item, bookingsByItem.getOrDefault(item.getId(), List.of()),
+                        commentsByItem.getOrDefault(item.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private static ResponseItemDto toResponseItemDto(Item item, List<NearestBooking> nearestBookings,
+                                                     List<Comment> comments) {
+
+        NearestBooking lastBooking = null;
+        NearestBooking nextBooking = null;
+
+        for (NearestBooking booking : nearestBookings) {
+            if (booking.getPast()) {
+                lastBooking = booking;
+            } else {
+                nextBooking = booking;
+            }
+        }
+
+        return ItemMapper.toResponseItemDto(item, lastBooking, nextBooking,
+                CommentMapper.toResponseCommentDto(comments));
+    }
+
+    private static String toContainsPattern(String text) {
+
+        String escaped = text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+
+        return "%" + escaped + "%";
+    }
 }
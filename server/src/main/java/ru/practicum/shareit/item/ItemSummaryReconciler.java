@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.ItemSummaryDrift;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+public class ItemSummaryReconciler {
+
+    private final ItemSummaryUpdater itemSummaryUpdater;
+
+    private final int batchSize;
+
+    private long after = 0;
+
+    public ItemSummaryReconciler(ItemSummaryUpdater itemSummaryUpdater,
+                                 @Value("${shareit.item-summary.batch-size:500}") int batchSize) {
+
+        this.itemSummaryUpdater = itemSummaryUpdater;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${shareit.item-summary.reconcile-cron:0 * * * * *}")
+    public void reconcile() {
+
+        int refreshed;
+
+        do {
+            refreshed = itemSummaryUpdater.refreshDue(LocalDateTime.now(), batchSize);
+        } while (refreshed == batchSize);
+
+        ItemSummaryDrift drift = itemSummaryUpdater.findDrift(after, batchSize);
+
+        if (!drift.getItemsId().isEmpty()) {
+            int repaired = itemSummaryUpdater.refresh(drift.getItemsId());
+            log.info("Repaired {} item summaries after item id = {}", repaired, after);
+        }
+
+        after = drift.getNext();
+    }
+}
@@ -0,0 +1,205 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.booking.model.NearestBooking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.item.dto.ResponseCommentDto;
+import ru.practicum.shareit.item.interfaces.CommentRepository;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.interfaces.ItemSummaryRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
+import ru.practicum.shareit.item.model.ItemSummaryDrift;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ItemSummaryUpdater {
+
+    private static final TypeReference<List<ResponseCommentDto>> COMMENTS_TYPE = new TypeReference<>() {
+    };
+
+    private final ItemRepository itemRepository;
+    private final ItemSummaryRepository itemSummaryRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public void refresh(long itemId) {
+
+        Item item = itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new DataNotFoundException("Item with id = " + itemId + " not found"));
+
+        save(build(List.of(item), LocalDateTime.now()));
+    }
+
+    @Transactional
+    public int refreshDue(LocalDateTime now, int size) {
+
+        List<Long> itemIds = itemSummaryRepository
+                .findByRefreshAtLessThanEqualOrderByRefreshAt(now, PageRequest.of(0, size)).stream()
+                .map(ItemSummary::getItemId)
+                .collect(Collectors.toList());
+
+        if (itemIds.isEmpty()) {
+            return 0;
+        }
+
+        return save(build(itemRepository.findByIdsForUpdate(itemIds), now));
+    }
+
+    @Transactional
+    public int refresh(List<Long> itemsId) {
+
+        if (itemsId.isEmpty()) {
+            return 0;
+        }
+
+        return save(build(itemRepository.findByIdsForUpdate(itemsId), LocalDateTime.now()));
+    }
+
+    @Transactional(readOnly = true)
+    public ItemSummaryDrift findDrift(long after, int size) {
+
+        Slice<Item> itemSlice = itemRepository.findByIdGreaterThanOrderById(after, PageRequest.of(0, size));
+
+        if (!itemSlice.hasContent()) {
+            return new ItemSummaryDrift(List.of(), 0);
+        }
+
+        List<Long> driftedItemsId = changed(build(itemSlice.getContent(), LocalDateTime.now())).stream()
+                .map(ItemSummary::getItemId)
+                .collect(Collectors.toList());
+
+        return new ItemSummaryDrift(driftedItemsId, itemSlice.hasNext()
+                ? itemSlice.getContent().get(itemSlice.getNumberOfElements() - 1).getId() : 0);
+    }
+
+    public List<ResponseCommentDto> readComments(ItemSummary summary) {
+
+        try {
+            return objectMapper.readValue(summary.getComments(), COMMENTS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid comments in summary of item with id = "
+                    + summary.getItemId());
+        }
+    }
+
+    public static boolean isStale(ItemSummary summary, LocalDateTime now) {
+
+        return summary.getRefreshAt() != null && !summary.getRefreshAt().isAfter(now);
+    }
+
+    public static ItemSummary withBookings(ItemSummary summary, List<NearestBooking> nearestBookings) {
+
+        ItemSummary copy = new ItemSummary();
+
+        copy.setItemId(summary.getItemId());
+        copy.setOwnerId(summary.getOwnerId());
+        copy.setName(summary.getName());
+        copy.setDescription(summary.getDescription());
+        copy.setAvailable(summary.getAvailable());
+        copy.setRequestId(summary.getRequestId());
+        copy.setComments(summary.getComments());
+
+        setBookings(copy, nearestBookings);
+
+        return copy;
+    }
+
+    private List<ItemSummary> build(List<Item> items, LocalDateTime now) {
+
+        List<Long> itemsId = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, List<NearestBooking>> bookingsByItem = bookingRepository
+                .findNearestBookingsByItemIds(itemsId, now, Status.APPROVED.toString()).stream()
+                .collect(Collectors.groupingBy(NearestBooking::getItemId));
+
+        Map<Long, List<Comment>> commentsByItem = commentRepository.findByItemsId(itemsId).stream()
+                .sorted(Comparator.comparing(Comment::getId))
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+
+        return items.stream()
+                .map(item -> {
+
+                    ItemSummary summary = new ItemSummary();
+
+                    summary.setItemId(item.getId());
+                    summary.setOwnerId(item.getOwnerId());
+                    summary.setName(item.getName());
+                    summary.setDescription(item.getDescription());
+                    summary.setAvailable(item.getAvailable());
+                    summary.setRequestId(item.getRequest() != null ? item.getRequest().getId() : null);
+                    summary.setComments(writeComments(item.getId(), CommentMapper
+                            .toResponseCommentDto(commentsByItem.getOrDefault(item.getId(), List.of()))));
+
+                    setBookings(summary, bookingsByItem.getOrDefault(item.getId(), List.of()));
+
+                    return summary;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private int save(List<ItemSummary> summaries) {
+
+        List<ItemSummary> changedSummaries = changed(summaries);
+
+        itemSummaryRepository.saveAll(changedSummaries);
+
+        return changedSummaries.size();
+    }
+
+    private List<ItemSummary> changed(List<ItemSummary> summaries) {
+
+        Map<Long, ItemSummary> storedSummaries = itemSummaryRepository
+                .findAllById(summaries.stream().map(ItemSummary::getItemId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(ItemSummary::getItemId, Function.identity()));
+
+        return summaries.stream()
+                .filter(summary -> !Objects.equals(summary, storedSummaries.get(summary.getItemId())))
+                .collect(Collectors.toList());
+    }
+
+    private String writeComments(long itemId, List<ResponseCommentDto> comments) {
+
+        try {
+            return objectMapper.writeValueAsString(comments);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid comments of item with id = " + itemId);
+        }
+    }
+
+    private static void setBookings(ItemSummary summary, List<NearestBooking> nearestBookings) {
+
+        for (NearestBooking booking : nearestBookings) {
+            if (booking.getPast()) {
+                summary.setLastBookingId(booking.getId());
+                summary.setLastBookerId(booking.getBookerId());
+            } else {
+                summary.setNextBookingId(booking.getId());
+                summary.setNextBookerId(booking.getBookerId());
+                summary.setRefreshAt(booking.getStartDate());
+            }
+        }
+    }
+}
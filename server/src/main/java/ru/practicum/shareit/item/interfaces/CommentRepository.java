@@ -12,4 +12,7 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     @Query("SELECT c FROM Comment AS c WHERE c.item.id IN (?1)")
     public List<Comment> findByItemsId(List<Long> itemsId);
+
+    @Query("SELECT DISTINCT c.item.id FROM Comment AS c WHERE c.author.id = ?1")
+    public List<Long> findItemIdsByAuthorId(long authorId);
 }
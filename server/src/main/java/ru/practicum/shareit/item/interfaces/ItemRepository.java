@@ -1,16 +1,49 @@
 package ru.practicum.shareit.item.interfaces;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingCount;
 
+import javax.persistence.LockModeType;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    public List<Item> findByOwnerIdOrderById(Long ownerId);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "SELECT i FROM Item AS i WHERE i.id = ?1")
+    public Optional<Item> findByIdForUpdate(long id);
 
-    public List<Item> findByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(String name, String description);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "SELECT i FROM Item AS i WHERE i.id IN (:itemIds) ORDER BY i.id")
+    public List<Item> findByIdsForUpdate(List<Long> itemIds);
+
+    public Slice<Item> findByIdGreaterThanOrderById(long id, PageRequest page);
+
+    @Query(value = "SELECT i.id FROM Item AS i WHERE i.ownerId = ?1 AND i.id > ?2 ORDER BY i.id")
+    public Slice<Long> findIdsByOwnerIdAndIdGreaterThan(long ownerId, long id, PageRequest page);
+
+    @Query(value = "SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, " +
+            "i.ownerId, r.id) FROM Item AS i LEFT JOIN i.request AS r " +
+            "LEFT JOIN Booking AS b ON b.item = i AND b.status = ?2 WHERE i.available = TRUE AND " +
+            "(lower(i.name) LIKE ?1 ESCAPE '\\' OR lower(i.description) LIKE ?1 ESCAPE '\\') " +
+            "GROUP BY i.id, i.name, i.description, i.available, i.ownerId, r.id " +
+            "ORDER BY CASE WHEN lower(i.name) LIKE ?1 ESCAPE '\\' THEN 0 ELSE 1 END, COUNT(b) DESC, i.id")
+    public Slice<ItemDto> searchAvailable(String pattern, Status bookingStatus, PageRequest page);
+
+    @Query(value = "SELECT b.item.id AS itemId, COUNT(b) AS bookings FROM Booking AS b WHERE b.status = ?1 " +
+            "GROUP BY b.item.id")
+    public List<ItemBookingCount> countBookingsByStatus(Status status);
+
+    @Query(value = "SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, " +
+            "i.ownerId, r.id) FROM Item AS i LEFT JOIN i.request AS r")
+    public List<ItemDto> findAllItemDtos();
 
     @Query(value = "SELECT i FROM Item AS i WHERE i.request.id IN (:requestIds)")
     public List<Item> findByRequestIds(List<Long> requestIds);
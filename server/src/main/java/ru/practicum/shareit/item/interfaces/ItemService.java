@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.interfaces;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ResponseCommentDto;
@@ -15,9 +16,9 @@ public interface ItemService {
 
     public ResponseItemDto getItem(long userId, long itemId);
 
-    public List<ResponseItemDto> getItems(long ownerId);
+    public Slice<ResponseItemDto> getItems(long ownerId, Long after, Integer size);
 
-    public List<ItemDto> searchItems(long userId, String text);
+    public List<ItemDto> searchItems(long userId, String text, Integer from, Integer size);
 
     public ResponseCommentDto addComment(CreateCommentDto createCommentDto);
 }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.interfaces;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.item.model.ItemSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemSummaryRepository extends JpaRepository<ItemSummary, Long> {
+
+    public List<ItemSummary> findByRefreshAtLessThanEqualOrderByRefreshAt(LocalDateTime now, PageRequest page);
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.model;
+
+public interface ItemBookingCount {
+
+    Long getItemId();
+
+    Long getBookings();
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.Data;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "item_summary", schema = "public")
+public class ItemSummary {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "name", nullable = false, length = 32)
+    private String name;
+
+    @Column(name = "description", length = 64)
+    private String description;
+
+    @Column(name = "available", nullable = false)
+    private Boolean available;
+
+    @Column(name = "request_id")
+    private Long requestId;
+
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+
+    @Column(name = "last_booker_id")
+    private Long lastBookerId;
+
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+
+    @Column(name = "next_booker_id")
+    private Long nextBookerId;
+
+    @Column(name = "refresh_at")
+    private LocalDateTime refreshAt;
+
+    @Column(name = "comments", nullable = false)
+    private String comments;
+}
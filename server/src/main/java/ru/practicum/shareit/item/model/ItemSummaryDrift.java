@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ItemSummaryDrift {
+
+    private final List<Long> itemsId;
+
+    private final long next;
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.DataBadRequestException;
 import ru.practicum.shareit.exception.DataNotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
@@ -14,7 +15,7 @@ import ru.practicum.shareit.request.dto.ResponseRequestDto;
 import ru.practicum.shareit.request.interfaces.RequestRepository;
 import ru.practicum.shareit.request.interfaces.RequestService;
 import ru.practicum.shareit.request.model.Request;
-import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.UserCache;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.ArrayList;
@@ -25,13 +26,15 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class RequestServiceImpl implements RequestService {
 
     private final RequestRepository requestRepository;
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Override
+    @Transactional
     public ResponseRequestDto addRequest(long requestorId, CreateRequestDto createRequestDto) {
 
         User requestor = getUserById(requestorId);
@@ -94,8 +97,7 @@ public class RequestServiceImpl implements RequestService {
 
     private User getUserById(long userId) {
 
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new DataNotFoundException("User with id = " + userId + " not found"));
+        return userCache.get(userId);
     }
 
     private List<ResponseRequestDto> makeResponseRequestDtoList(List<Request> requests) {
@@ -1,7 +1,7 @@
 package ru.practicum.shareit.request.interfaces;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.Request;
@@ -18,5 +18,5 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
     public List<Request> findByOtherRequestorId(long requestorId);
 
     @Query(value = "SELECT r FROM Request AS r WHERE r.requestor.id != :requestorId ORDER BY r.created DESC")
-    public Page<Request> findByOtherRequestorId(long requestorId, PageRequest page);
+    public Slice<Request> findByOtherRequestorId(long requestorId, PageRequest page);
 }
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+
+    private final boolean enabled;
+
+    private final StatsCounter stats = new ConcurrentStatsCounter();
+
+    private final Cache<Long, User> cache;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserCache(UserRepository userRepository,
+                     @Value("${shareit.user-cache.maximum-size:10000}") long maximumSize,
+                     MeterRegistry meterRegistry) {
+
+        this.userRepository = userRepository;
+
+        enabled = maximumSize > 0;
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats(() -> stats)
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+
+        Gauge.builder("shareit.user-cache.hit.ratio", cache, users -> users.stats().hitRate())
+                .description("Share of user lookups served without a database round trip")
+                .register(meterRegistry);
+
+        Gauge.builder("shareit.user-cache.saved.time", cache,
+                        users -> users.stats().hitCount() * users.stats().averageLoadPenalty() / 1e9)
+                .description("Database time saved by user cache hits, estimated from the average load time")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public Optional<User> find(long userId) {
+
+        if (!enabled) {
+            return userRepository.findById(userId);
+        }
+
+        User cached = cache.getIfPresent(userId);
+
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long loadGeneration = generation.get();
+        long start = System.nanoTime();
+        Optional<User> user = userRepository.findById(userId).map(UserCache::copy);
+
+        if (user.isPresent()) {
+            stats.recordLoadSuccess(System.nanoTime() - start);
+            cache.put(userId, user.get());
+
+            if (generation.get() != loadGeneration) {
+                cache.invalidate(userId);
+            }
+        } else {
+            stats.recordLoadFailure(System.nanoTime() - start);
+        }
+
+        return user;
+    }
+
+    public User get(long userId) {
+
+        return find(userId)
+                .orElseThrow(() -> new DataNotFoundException("User with id = " + userId + " not found"));
+    }
+
+    public boolean exists(long userId) {
+
+        return find(userId).isPresent();
+    }
+
+    public void evict(long userId) {
+
+        if (!enabled) {
+            return;
+        }
+
+        generation.incrementAndGet();
+        cache.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public long size() {
+
+        return cache.estimatedSize();
+    }
+
+    private static User copy(User user) {
+
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setName(user.getName());
+        copy.setEmail(user.getEmail());
+
+        return copy;
+    }
+}
@@ -2,22 +2,46 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
 import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.item.ItemSearchCache;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.ItemSummaryUpdater;
+import ru.practicum.shareit.item.interfaces.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.interfaces.UserRepository;
 import ru.practicum.shareit.user.interfaces.UserService;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSearchCache itemSearchCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemSummaryUpdater itemSummaryUpdater;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Override
+    @Transactional
     public UserDto addUser(UserDto userDto) {
 
         User user = userRepository.save(UserMapper.toUser(userDto));
@@ -25,6 +49,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserDto updateUser(UserDto userDto) {
 
         User newUser = UserMapper.toUser(userDto);
@@ -40,6 +65,8 @@ public class UserServiceImpl implements UserService {
             user.setEmail(newUser.getEmail());
         }
 
+        userCache.evict(user.getId());
+
         return UserMapper.toUserDto(userRepository.save(user));
     }
 
@@ -54,15 +81,41 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserDto getUser(long userId) {
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new DataNotFoundException("User with id = " + userId + " not found"));
-
-        return UserMapper.toUserDto(user);
+        return UserMapper.toUserDto(userCache.get(userId));
     }
 
     @Override
+    @Transactional
     public void removeUser(long userId) {
 
+        List<Long> itemsId = Stream.concat(bookingRepository.findItemIdsByBookerId(userId).stream(),
+                        commentRepository.findItemIdsByAuthorId(userId).stream())
+                .distinct()
+                .collect(Collectors.toList());
+
         userRepository.deleteById(userId);
+        userRepository.flush();
+        itemSummaryUpdater.refresh(itemsId);
+        userCache.evict(userId);
+        itemSearchIndex.removeOwner(userId);
+        itemSearchCache.evictAll();
+        bookingIntervalIndex.removeBooker(userId);
+        evictCascadedEntities();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictCascadedEntities();
+                }
+            });
+        }
+    }
+
+    private void evictCascadedEntities() {
+
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Item.class);
+        cache.evict(Request.class);
     }
 }
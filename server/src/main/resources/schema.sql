@@ -1,4 +1,5 @@
-drop table if exists users, items, bookings, requests, comments;
+drop table if exists users, items, bookings, requests, comments, item_summary;
+drop sequence if exists bookings_seq;
 
 CREATE TABLE IF NOT EXISTS users (
   id INTEGER GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
@@ -25,15 +26,20 @@ CREATE TABLE IF NOT EXISTS items (
   FOREIGN KEY(request_id) REFERENCES requests(id) ON DELETE CASCADE
 );
 
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS bookings (
-  id INTEGER GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
+  id INTEGER DEFAULT nextval('bookings_seq') NOT NULL PRIMARY KEY,
   start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
   end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
   item_id INTEGER NOT NULL,
   booker_id INTEGER NOT NULL,
   status VARCHAR(16) NOT NULL,
+  item_owner_id INTEGER NOT NULL,
+  version INTEGER NOT NULL DEFAULT 0,
   FOREIGN KEY(item_id) REFERENCES items(id)  ON DELETE CASCADE,
-  FOREIGN KEY(booker_id) REFERENCES users(id) ON DELETE CASCADE
+  FOREIGN KEY(booker_id) REFERENCES users(id) ON DELETE CASCADE,
+  FOREIGN KEY(item_owner_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
 CREATE TABLE IF NOT EXISTS comments (
@@ -46,3 +52,38 @@ CREATE TABLE IF NOT EXISTS comments (
   FOREIGN KEY(author_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+CREATE TABLE IF NOT EXISTS item_summary (
+  item_id INTEGER NOT NULL PRIMARY KEY,
+  owner_id INTEGER NOT NULL,
+  name VARCHAR(32) NOT NULL,
+  description VARCHAR(64),
+  available BOOLEAN NOT NULL,
+  request_id INTEGER,
+  last_booking_id INTEGER,
+  last_booker_id INTEGER,
+  next_booking_id INTEGER,
+  next_booker_id INTEGER,
+  refresh_at TIMESTAMP WITHOUT TIME ZONE,
+  comments TEXT NOT NULL,
+  FOREIGN KEY(item_id) REFERENCES items(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_created ON requests (requestor_id, created DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_owner_start ON bookings (item_owner_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_owner_status_start ON bookings (item_owner_id, status, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_item_summary_refresh_at ON item_summary (refresh_at);
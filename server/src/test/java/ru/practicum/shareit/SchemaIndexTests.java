@@ -0,0 +1,179 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "SHAREIT_BENCHMARK_DATASOURCE_URL", matches = "jdbc:postgresql:.+")
+public class SchemaIndexTests {
+
+    private static final int USER_COUNT = 1_000;
+    private static final int REQUEST_COUNT = 10_000;
+    private static final int ITEM_COUNT = 10_000;
+    private static final int BOOKING_COUNT = 1_000_000;
+    private static final int COMMENT_COUNT = 100_000;
+
+    private static final Pattern INDEX_NAME = Pattern.compile("CREATE INDEX IF NOT EXISTS (\\w+)");
+    private static final Pattern EXECUTION_TIME = Pattern.compile("Execution Time: ([\\d.]+) ms");
+
+    private static final Map<String, String> QUERIES = Map.ofEntries(
+            Map.entry("idx_bookings_booker_start", "SELECT * FROM bookings WHERE booker_id = 42 AND " +
+                    "end_date < CURRENT_TIMESTAMP ORDER BY start_date DESC, id DESC LIMIT 50"),
+            Map.entry("idx_bookings_booker_status_start", "SELECT * FROM bookings WHERE booker_id = 42 AND " +
+                    "status = 'WAITING' ORDER BY start_date DESC, id DESC LIMIT 50"),
+            Map.entry("idx_bookings_item_owner_start", "SELECT * FROM bookings WHERE item_owner_id = 42 AND " +
+                    "start_date > CURRENT_TIMESTAMP ORDER BY start_date DESC, id DESC LIMIT 50"),
+            Map.entry("idx_bookings_item_owner_status_start", "SELECT * FROM bookings WHERE item_owner_id = 42 AND " +
+                    "status = 'REJECTED' ORDER BY start_date DESC, id DESC LIMIT 50"),
+            Map.entry("idx_bookings_item_status_start", "SELECT * FROM bookings WHERE item_id = 42 AND " +
+                    "start_date < CURRENT_TIMESTAMP AND status = 'APPROVED' ORDER BY start_date DESC LIMIT 1"),
+            Map.entry("idx_items_owner", "SELECT * FROM items WHERE owner_id = 42 ORDER BY id"),
+            Map.entry("idx_items_request", "SELECT * FROM items WHERE request_id IN (42, 43, 44)"),
+            Map.entry("idx_comments_item", "SELECT * FROM comments WHERE item_id IN (42, 43, 44)"),
+            Map.entry("idx_requests_requestor_created", "SELECT * FROM requests WHERE requestor_id = 42 " +
+                    "ORDER BY created DESC"),
+            Map.entry("idx_item_summary_refresh_at", "SELECT item_id FROM item_summary WHERE " +
+                    "refresh_at <= CURRENT_TIMESTAMP ORDER BY refresh_at LIMIT 500")
+    );
+
+    private JdbcTemplate jdbcTemplate;
+
+    private List<String> createIndexStatements;
+
+    @BeforeAll
+    void init() throws IOException {
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("SHAREIT_BENCHMARK_DATASOURCE_URL"),
+                System.getenv("SHAREIT_BENCHMARK_DATASOURCE_USERNAME"),
+                System.getenv("SHAREIT_BENCHMARK_DATASOURCE_PASSWORD"));
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+        String schema = StreamUtils.copyToString(new ClassPathResource("schema.sql").getInputStream(),
+                StandardCharsets.UTF_8);
+
+        createIndexStatements = Arrays.stream(schema.split(";"))
+                .map(String::trim)
+                .filter(statement -> statement.startsWith("CREATE INDEX"))
+                .collect(Collectors.toList());
+
+        createIndexStatements.forEach(statement -> jdbcTemplate.execute("DROP INDEX " + indexName(statement)));
+
+        seed();
+    }
+
+    @AfterAll
+    void cleanUp() {
+
+        if (jdbcTemplate != null) {
+            jdbcTemplate.execute("TRUNCATE users, requests, items, bookings, comments, item_summary " +
+                    "RESTART IDENTITY CASCADE");
+        }
+    }
+
+    @Test
+    void plansSwitchFromSeqScanToIndexScanTest() {
+
+        assertThat(createIndexStatements.stream().map(this::indexName).collect(Collectors.toSet()),
+                equalTo(QUERIES.keySet()));
+
+        Map<String, String> plansBefore = explainAll();
+
+        createIndexStatements.forEach(jdbcTemplate::execute);
+        jdbcTemplate.execute("ANALYZE");
+
+        Map<String, String> plansAfter = explainAll();
+
+        for (String index : QUERIES.keySet()) {
+
+            log.info("{}: {} ms without index, {} ms with index", index,
+                    executionTime(plansBefore.get(index)), executionTime(plansAfter.get(index)));
+
+            assertThat(plansBefore.get(index), containsString("Seq Scan"));
+            assertThat(plansBefore.get(index), not(containsString(index)));
+            assertThat(plansAfter.get(index), containsString(index));
+            assertThat(plansAfter.get(index), not(containsString("Seq Scan")));
+        }
+    }
+
+    private void seed() {
+
+        jdbcTemplate.update("INSERT INTO users (name, email) " +
+                "SELECT 'User' || x, 'user' || x || '@mail.ru' FROM generate_series(1, ?) AS x", USER_COUNT);
+        jdbcTemplate.update("INSERT INTO requests (description, created, requestor_id) " +
+                "SELECT 'Request' || x, CURRENT_TIMESTAMP - x * INTERVAL '1 minute', x % ? + 1 " +
+                "FROM generate_series(1, ?) AS x", USER_COUNT, REQUEST_COUNT);
+        jdbcTemplate.update("INSERT INTO items (name, description, available, owner_id, request_id) " +
+                "SELECT 'Item' || x, 'Description' || x, TRUE, x % ? + 1, " +
+                "CASE WHEN x % 10 = 0 THEN x % ? + 1 END FROM generate_series(1, ?) AS x",
+                USER_COUNT, REQUEST_COUNT, ITEM_COUNT);
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status, item_owner_id) " +
+                "SELECT CURRENT_TIMESTAMP + (x - ?) * INTERVAL '1 minute', " +
+                "CURRENT_TIMESTAMP + (x - ? + 60) * INTERVAL '1 minute', x % ? + 1, x * 7 % ? + 1, " +
+                "CASE x % 3 WHEN 0 THEN 'WAITING' WHEN 1 THEN 'APPROVED' ELSE 'REJECTED' END, i.owner_id " +
+                "FROM generate_series(1, ?) AS x JOIN items AS i ON i.id = x % ? + 1",
+                BOOKING_COUNT / 2, BOOKING_COUNT / 2, ITEM_COUNT, USER_COUNT, BOOKING_COUNT, ITEM_COUNT);
+        jdbcTemplate.update("INSERT INTO comments (text, item_id, author_id, created) " +
+                "SELECT 'Comment' || x, x % ? + 1, x % ? + 1, CURRENT_TIMESTAMP FROM generate_series(1, ?) AS x",
+                ITEM_COUNT, USER_COUNT, COMMENT_COUNT);
+        jdbcTemplate.update("INSERT INTO item_summary (item_id, owner_id, name, description, available, " +
+                "request_id, refresh_at, comments) SELECT id, owner_id, name, description, available, request_id, " +
+                "CASE WHEN id % 100 = 0 THEN CURRENT_TIMESTAMP + (id - ?) * INTERVAL '1 minute' END, '[]' " +
+                "FROM items", ITEM_COUNT / 2);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private Map<String, String> explainAll() {
+
+        return QUERIES.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> explain(entry.getValue())));
+    }
+
+    private String explain(String sql) {
+
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN ANALYZE " + sql, String.class));
+    }
+
+    private String indexName(String createIndexStatement) {
+
+        Matcher matcher = INDEX_NAME.matcher(createIndexStatement);
+
+        if (!matcher.find()) {
+            throw new IllegalArgumentException("Unexpected index statement: " + createIndexStatement);
+        }
+
+        return matcher.group(1);
+    }
+
+    private String executionTime(String plan) {
+
+        Matcher matcher = EXECUTION_TIME.matcher(plan);
+
+        return matcher.find() ? matcher.group(1) : "?";
+    }
+}
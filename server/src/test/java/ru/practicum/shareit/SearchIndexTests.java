@@ -0,0 +1,168 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "SHAREIT_BENCHMARK_DATASOURCE_URL", matches = "jdbc:postgresql:.+")
+public class SearchIndexTests {
+
+    private static final int USER_COUNT = 1_000;
+    private static final int ITEM_COUNT = 1_000_000;
+    private static final int BOOKING_COUNT = 200_000;
+    private static final int RUNS = 20;
+
+    private static final String SEARCH_SQL = "SELECT i.id, i.name, i.description, i.available, i.owner_id, " +
+            "i.request_id FROM items AS i LEFT JOIN bookings AS b ON b.item_id = i.id AND b.status = 'APPROVED' " +
+            "WHERE i.available = true AND (lower(i.name) LIKE ? ESCAPE '\\' OR lower(i.description) LIKE ? " +
+            "ESCAPE '\\') GROUP BY i.id, i.name, i.description, i.available, i.owner_id, i.request_id " +
+            "ORDER BY CASE WHEN lower(i.name) LIKE ? ESCAPE '\\' THEN 0 ELSE 1 END, COUNT(b.id) DESC, i.id LIMIT 50";
+
+    private static final List<String> SELECTIVE_TERMS = List.of("777777", "c0ffee", "hammer 12345");
+    private static final List<String> COMMON_TERMS = List.of("drill", "ladder");
+
+    private static final Pattern EXECUTION_TIME = Pattern.compile("Execution Time: ([\\d.]+) ms");
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void init() {
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("SHAREIT_BENCHMARK_DATASOURCE_URL"),
+                System.getenv("SHAREIT_BENCHMARK_DATASOURCE_USERNAME"),
+                System.getenv("SHAREIT_BENCHMARK_DATASOURCE_PASSWORD"));
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"),
+                new ClassPathResource("schema-postgresql.sql")).execute(dataSource);
+
+        jdbcTemplate.execute("DROP INDEX idx_items_name_trgm");
+        jdbcTemplate.execute("DROP INDEX idx_items_description_trgm");
+
+        seed();
+    }
+
+    @AfterAll
+    void cleanUp() {
+
+        if (jdbcTemplate != null) {
+            jdbcTemplate.execute("TRUNCATE users, requests, items, bookings, comments RESTART IDENTITY CASCADE");
+        }
+    }
+
+    @Test
+    void trigramIndexesServeSubstringSearchTest() {
+
+        Map<String, Double> latencyBefore = measureAll();
+        Map<String, String> plansBefore = explainAll();
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema-postgresql.sql"))
+                .execute(jdbcTemplate.getDataSource());
+        jdbcTemplate.execute("ANALYZE");
+
+        Map<String, Double> latencyAfter = measureAll();
+        Map<String, String> plansAfter = explainAll();
+
+        for (String term : latencyBefore.keySet()) {
+            log.info("'{}' on {} items: {} rows, median {} ms without index ({} ms in plan), " +
+                            "median {} ms with index ({} ms in plan)", term, ITEM_COUNT, search(term).size(),
+                    String.format("%.2f", latencyBefore.get(term)), executionTime(plansBefore.get(term)),
+                    String.format("%.2f", latencyAfter.get(term)), executionTime(plansAfter.get(term)));
+        }
+
+        for (String term : SELECTIVE_TERMS) {
+            assertThat(plansBefore.get(term), containsString("Seq Scan"));
+            assertThat(plansAfter.get(term), containsString("idx_items_name_trgm"));
+            assertThat(plansAfter.get(term), containsString("idx_items_description_trgm"));
+            assertThat(plansAfter.get(term), not(containsString("Seq Scan")));
+            assertThat(latencyAfter.get(term), lessThan(latencyBefore.get(term)));
+        }
+    }
+
+    private void seed() {
+
+        jdbcTemplate.update("INSERT INTO users (name, email) " +
+                "SELECT 'User' || x, 'user' || x || '@mail.ru' FROM generate_series(1, ?) AS x", USER_COUNT);
+        jdbcTemplate.update("INSERT INTO items (name, description, available, owner_id) " +
+                "SELECT (ARRAY['Drill', 'Hammer', 'Saw', 'Ladder', 'Tent', 'Bike', 'Kayak', 'Projector', " +
+                "'Mixer', 'Vacuum'])[x % 10 + 1] || ' ' || x, 'Description ' || md5(x::text), " +
+                "x % 7 <> 0, x % ? + 1 FROM generate_series(1, ?) AS x", USER_COUNT, ITEM_COUNT);
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status, item_owner_id) " +
+                "SELECT CURRENT_TIMESTAMP, CURRENT_TIMESTAMP + INTERVAL '1 day', x * 7919 % ? + 1, x % ? + 1, " +
+                "'APPROVED', 1 FROM generate_series(1, ?) AS x", ITEM_COUNT, USER_COUNT, BOOKING_COUNT);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private Map<String, Double> measureAll() {
+
+        Map<String, Double> latency = new LinkedHashMap<>();
+
+        for (String term : terms()) {
+            double[] runs = new double[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                long started = System.nanoTime();
+                search(term);
+                runs[i] = (System.nanoTime() - started) / 1e6;
+            }
+            Arrays.sort(runs);
+            latency.put(term, runs[RUNS / 2]);
+        }
+
+        return latency;
+    }
+
+    private Map<String, String> explainAll() {
+
+        Map<String, String> plans = new LinkedHashMap<>();
+
+        for (String term : terms()) {
+            String pattern = "'%" + term + "%'";
+            plans.put(term, String.join("\n", jdbcTemplate.queryForList("EXPLAIN ANALYZE " +
+                    SEARCH_SQL.replace("?", pattern), String.class)));
+        }
+
+        return plans;
+    }
+
+    private List<Map<String, Object>> search(String term) {
+
+        String pattern = "%" + term + "%";
+
+        return jdbcTemplate.queryForList(SEARCH_SQL, pattern, pattern, pattern);
+    }
+
+    private List<String> terms() {
+
+        return Stream.concat(SELECTIVE_TERMS.stream(), COMMON_TERMS.stream()).collect(Collectors.toList());
+    }
+
+    private String executionTime(String plan) {
+
+        Matcher matcher = EXECUTION_TIME.matcher(plan);
+
+        return matcher.find() ? matcher.group(1) : "?";
+    }
+}
@@ -0,0 +1,182 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.booking.interfaces.BookingService;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.item.dto.ResponseItemDto;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.interfaces.ItemService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.interfaces.RequestRepository;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.interfaces.UserService;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SecondLevelCacheTests {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final UserService userService;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final RequestRepository requestRepository;
+    private final BookingRepository bookingRepository;
+
+    private Statistics statistics;
+
+    private User owner;
+
+    private User booker;
+
+    private Item item;
+
+    private Booking booking;
+
+    @BeforeEach
+    void init() {
+
+        owner = userRepository.save(makeUser("Owner", "Owner@mail.ru"));
+        booker = userRepository.save(makeUser("Booker", "Booker@mail.ru"));
+
+        Request request = new Request();
+        request.setDescription("Need a drill");
+        request.setCreated(LocalDateTime.now());
+        request.setRequestor(booker);
+        requestRepository.save(request);
+
+        item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwnerId(owner.getId());
+        item.setRequest(request);
+        itemRepository.save(item);
+
+        booking = new Booking();
+        booking.setStart(LocalDateTime.now().plusDays(1));
+        booking.setEnd(LocalDateTime.now().plusDays(2));
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(Status.WAITING);
+        bookingRepository.save(booking);
+
+        entityManagerFactory.getCache().evictAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        requestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void repeatedGetBookingHitsCacheTest() {
+
+        for (int i = 0; i < 3; i++) {
+            ResponseBookingDto responseBookingDto = bookingService.getBooking(booker.getId(), booking.getId());
+            assertThat(responseBookingDto.getItem().getName(), equalTo(item.getName()));
+            assertThat(responseBookingDto.getBooker().getName(), equalTo(booker.getName()));
+        }
+
+        assertThat(region("items").getMissCount(), equalTo(1L));
+        assertThat(region("items").getHitCount(), equalTo(2L));
+        assertThat(region("users").getMissCount(), equalTo(1L));
+        assertThat(region("users").getHitCount(), equalTo(2L));
+        assertThat(statistics.getEntityStatistics(Item.class.getName()).getLoadCount(), equalTo(1L));
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount(), equalTo(1L));
+    }
+
+    @Test
+    void repeatedGetItemHitsCacheTest() {
+
+        for (int i = 0; i < 3; i++) {
+            ResponseItemDto responseItemDto = itemService.getItem(owner.getId(), item.getId());
+            assertThat(responseItemDto.getName(), equalTo(item.getName()));
+            assertThat(responseItemDto.getRequest(), equalTo(item.getRequest().getId()));
+        }
+
+        assertThat(region("items").getMissCount(), equalTo(1L));
+        assertThat(region("items").getHitCount(), equalTo(2L));
+        assertThat(statistics.getEntityStatistics(Item.class.getName()).getLoadCount(), equalTo(1L));
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests").tag("region", "items")
+                .tag("result", "hit").functionCounter().count(), greaterThanOrEqualTo(2.0));
+    }
+
+    @Test
+    void updatedItemIsNotServedStaleTest() {
+
+        itemService.getItem(owner.getId(), item.getId());
+
+        item.setName("Hammer");
+        itemRepository.save(item);
+
+        assertThat(itemService.getItem(owner.getId(), item.getId()).getName(), equalTo("Hammer"));
+    }
+
+    @Test
+    void itemsAndRequestsOfRemovedUserAreNotServedFromCacheTest() {
+
+        long requestId = item.getRequest().getId();
+
+        itemService.getItem(owner.getId(), item.getId());
+        requestRepository.findById(requestId);
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId()), equalTo(true));
+        assertThat(entityManagerFactory.getCache().contains(Request.class, requestId), equalTo(true));
+
+        userService.removeUser(booker.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId()), equalTo(false));
+        assertThat(requestRepository.findById(requestId), equalTo(Optional.empty()));
+        assertThat(itemRepository.findById(item.getId()), equalTo(Optional.empty()));
+        assertThrows(DataNotFoundException.class, () -> itemService.getItem(owner.getId(), item.getId()));
+    }
+
+    private CacheRegionStatistics region(String name) {
+
+        return statistics.getDomainDataRegionStatistics(name);
+    }
+
+    private User makeUser(String name, String email) {
+
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+
+        return user;
+    }
+}
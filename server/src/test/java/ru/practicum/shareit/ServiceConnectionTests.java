@@ -0,0 +1,196 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.booking.interfaces.BookingService;
+import ru.practicum.shareit.item.dto.CreateCommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.interfaces.CommentRepository;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.interfaces.ItemService;
+import ru.practicum.shareit.request.dto.CreateRequestDto;
+import ru.practicum.shareit.request.interfaces.RequestRepository;
+import ru.practicum.shareit.request.interfaces.RequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.interfaces.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ServiceConnectionTests {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final RequestService requestService;
+    private final BookingService bookingService;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final RequestRepository requestRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void init() {
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+
+        statistics.setStatisticsEnabled(false);
+
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        requestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void eachServiceCallAcquiresSingleConnectionTest() {
+
+        long ownerId = inSingleTransaction(() -> userService.addUser(makeUserDto("Owner", "Owner@mail.ru"))).getId();
+        long bookerId = inSingleTransaction(() -> userService.addUser(makeUserDto("Booker", "Booker@mail.ru"))).getId();
+
+        CreateRequestDto createRequestDto = new CreateRequestDto();
+        createRequestDto.setDescription("Need a drill");
+        long requestId = inSingleTransaction(() -> requestService.addRequest(bookerId, createRequestDto)).getId();
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Drill");
+        itemDto.setDescription("Cordless drill");
+        itemDto.setAvailable(true);
+        itemDto.setOwner(ownerId);
+        itemDto.setRequestId(requestId);
+        long itemId = inSingleTransaction(() -> itemService.addItem(itemDto)).getId();
+
+        CreateBookingDto createBookingDto = new CreateBookingDto();
+        createBookingDto.setStart(LocalDateTime.now().minusDays(2));
+        createBookingDto.setEnd(LocalDateTime.now().minusDays(1));
+        createBookingDto.setItemId(itemId);
+        createBookingDto.setBookerId(bookerId);
+        long bookingId = inSingleTransaction(() -> bookingService.addBooking(createBookingDto)).getId();
+
+        inSingleTransaction(() -> bookingService.approveBooking(ownerId, bookingId, true));
+
+        CreateCommentDto createCommentDto = new CreateCommentDto();
+        createCommentDto.setText("Works fine");
+        createCommentDto.setItemId(itemId);
+        createCommentDto.setAuthorId(bookerId);
+        inSingleTransaction(() -> itemService.addComment(createCommentDto));
+
+        assertThat(inSingleTransaction(() -> itemService.getItem(ownerId, itemId)).getLastBooking(), notNullValue());
+        assertThat(inSingleTransaction(() -> itemService.getItems(ownerId, 0L, 10).getContent()), hasSize(1));
+        assertThat(inSingleTransaction(() -> itemService.searchItems(bookerId, "drill", 0, 10)), hasSize(1));
+        assertThat(inSingleTransaction(() -> requestService.getUserRequests(bookerId)), hasSize(1));
+        assertThat(inSingleTransaction(() -> requestService.getAllRequests(ownerId, 0, 10)), hasSize(1));
+        assertThat(inSingleTransaction(() -> requestService.getRequestById(ownerId, requestId)).getItems(),
+                hasSize(1));
+        assertThat(inSingleTransaction(() -> bookingService.getBooking(bookerId, bookingId)), notNullValue());
+        assertThat(inSingleTransaction(() -> bookingService.getAllBooking(bookerId, "ALL", 0, 10)), hasSize(1));
+        assertThat(inSingleTransaction(() -> bookingService.getAllOwnerBooking(ownerId, "PAST", 0, 10)),
+                hasSize(1));
+        assertThat(inSingleTransaction(() -> userService.getAllUsers()), hasSize(2));
+
+        CreateBookingDto batchBookingDto = new CreateBookingDto();
+        batchBookingDto.setStart(LocalDateTime.now().plusDays(1));
+        batchBookingDto.setEnd(LocalDateTime.now().plusDays(2));
+        batchBookingDto.setItemId(itemId);
+        assertThat(inSingleTransaction(() -> bookingService.addBookings(bookerId,
+                List.of(batchBookingDto, batchBookingDto, batchBookingDto))), hasSize(3));
+
+        inSingleTransaction(() -> userService.updateUser(makeUserDto(ownerId, "New owner")));
+    }
+
+    @Test
+    void searchItemsSeesCommittedUpdatesTest() {
+
+        long ownerId = userService.addUser(makeUserDto("Owner", "Owner@mail.ru")).getId();
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Drill");
+        itemDto.setDescription("Cordless drill");
+        itemDto.setAvailable(true);
+        itemDto.setOwner(ownerId);
+        long itemId = itemService.addItem(itemDto).getId();
+
+        assertThat(itemService.searchItems(ownerId, "drill", 0, 10), hasSize(1));
+        assertThat(itemService.searchItems(ownerId, "hammer", 0, 10), empty());
+
+        ItemDto updateDto = new ItemDto();
+        updateDto.setId(itemId);
+        updateDto.setOwner(ownerId);
+        updateDto.setName("Hammer");
+        updateDto.setDescription("Claw hammer");
+        itemService.updateItem(updateDto);
+
+        assertThat(itemService.searchItems(ownerId, "drill", 0, 10), empty());
+        assertThat(itemService.searchItems(ownerId, "hammer", 0, 10), hasSize(1));
+    }
+
+    @Test
+    void readOnlyServiceCallDoesNotFlushTest() {
+
+        long userId = userService.addUser(makeUserDto("Alex", "Alex@mail.ru")).getId();
+
+        statistics.clear();
+
+        assertThat(userService.getUser(userId).getName(), equalTo("Alex"));
+        assertThat(statistics.getFlushCount(), equalTo(0L));
+        assertThat(statistics.getTransactionCount(), equalTo(1L));
+    }
+
+    private <T> T inSingleTransaction(Supplier<T> serviceCall) {
+
+        statistics.clear();
+
+        T result = serviceCall.get();
+
+        assertThat(statistics.getConnectCount(), equalTo(1L));
+        assertThat(statistics.getTransactionCount(), equalTo(1L));
+
+        return result;
+    }
+
+    private UserDto makeUserDto(String name, String email) {
+
+        UserDto dto = new UserDto();
+        dto.setName(name);
+        dto.setEmail(email);
+
+        return dto;
+    }
+
+    private UserDto makeUserDto(long id, String name) {
+
+        UserDto dto = new UserDto();
+        dto.setId(id);
+        dto.setName(name);
+
+        return dto;
+    }
+}
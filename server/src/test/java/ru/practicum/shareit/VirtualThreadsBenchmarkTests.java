@@ -0,0 +1,338 @@
+package ru.practicum.shareit;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "SHAREIT_BENCHMARK_DATASOURCE_URL", matches = "jdbc:postgresql:.+")
+public class VirtualThreadsBenchmarkTests {
+
+    private static final int TOMCAT_THREADS = 10;
+    private static final int CONNECTION_POOL_SIZE = 40;
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final long DATABASE_LATENCY_MILLIS = 25;
+
+    private static final int ITEM_COUNT = 20;
+    private static final int BOOKING_COUNT = 200;
+
+    private URI database;
+
+    private LatencyProxy proxy;
+
+    private HttpClient httpClient;
+
+    @BeforeAll
+    void init() throws IOException {
+
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require Java 21 or later");
+
+        database = URI.create(System.getenv("SHAREIT_BENCHMARK_DATASOURCE_URL").substring("jdbc:".length()));
+        proxy = new LatencyProxy(database.getHost(), database.getPort(), DATABASE_LATENCY_MILLIS);
+
+        httpClient = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+    }
+
+    @AfterAll
+    void cleanUp() throws IOException {
+
+        if (proxy != null) {
+            proxy.close();
+        }
+    }
+
+    @Test
+    void virtualThreadsLiftThreadPoolLimitTest() throws Exception {
+
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        for (LoadResult result : List.of(platform, virtual)) {
+            log.info("{} threads, {} clients, {} ms per database round trip: {} requests/s, p50 {} ms, " +
+                            "p99 {} ms, peak {} of {} database connections in use, {} failed, {} pinned",
+                    result.isVirtual() ? "virtual" : "platform", CLIENTS, DATABASE_LATENCY_MILLIS,
+                    String.format("%.1f", result.getThroughput()), result.getP50(), result.getP99(),
+                    result.getPeakConnections(), CONNECTION_POOL_SIZE, result.getFailures(),
+                    result.getPinned().size());
+        }
+
+        assertThat(platform.getFailures(), equalTo(0));
+        assertThat(virtual.getFailures(), equalTo(0));
+        assertThat(platform.getPeakConnections(), lessThanOrEqualTo(TOMCAT_THREADS));
+        assertThat(virtual.getPeakConnections(), greaterThan(TOMCAT_THREADS));
+        assertThat(virtual.getThroughput(), greaterThan(platform.getThroughput()));
+        assertThat(virtual.getP99(), lessThan(platform.getP99()));
+        assertThat(String.join("\n\n", virtual.getPinned()), virtual.getPinned(), empty());
+    }
+
+    private LoadResult run(boolean virtual) throws Exception {
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class).run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--shareit.virtual-threads.enabled=" + virtual,
+                "--spring.datasource.driverClassName=org.postgresql.Driver",
+                "--spring.datasource.url=jdbc:postgresql://localhost:" + proxy.getPort() + database.getPath(),
+                "--spring.datasource.username=" + System.getenv("SHAREIT_BENCHMARK_DATASOURCE_USERNAME"),
+                "--spring.datasource.password=" + System.getenv("SHAREIT_BENCHMARK_DATASOURCE_PASSWORD"),
+                "--spring.datasource.hikari.maximum-pool-size=" + CONNECTION_POOL_SIZE,
+                "--spring.datasource.hikari.minimum-idle=" + CONNECTION_POOL_SIZE,
+                "--spring.sql.init.platform=postgresql");
+
+        try {
+            seed(context.getBean(JdbcTemplate.class));
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/bookings/owner?state=ALL&from=0&size=20");
+
+            send(uri);
+
+            Recording recording = new Recording();
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            LoadResult result = load(uri, context.getBean(HikariDataSource.class));
+            result.setVirtual(virtual);
+
+            recording.stop();
+            result.setPinned(pinnedStacks(recording));
+
+            return result;
+        } finally {
+            context.close();
+        }
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('Owner', 'owner@mail.ru'), " +
+                "('Booker', 'booker@mail.ru')");
+        jdbcTemplate.update("INSERT INTO items (name, description, available, owner_id) " +
+                "SELECT 'Drill ' || x, 'Cordless drill', true, 1 FROM generate_series(1, ?) AS x", ITEM_COUNT);
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status, item_owner_id) " +
+                "SELECT CURRENT_TIMESTAMP + x * INTERVAL '1 day', CURRENT_TIMESTAMP + x * INTERVAL '1 day' + " +
+                "INTERVAL '1 hour', x % ? + 1, 2, 'APPROVED', 1 FROM generate_series(1, ?) AS x",
+                ITEM_COUNT, BOOKING_COUNT);
+    }
+
+    private LoadResult load(URI uri, HikariDataSource dataSource) throws Exception {
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger peakConnections = new AtomicInteger();
+
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakConnections.accumulateAndGet(
+                dataSource.getHikariPoolMXBean().getActiveConnections(), Math::max), 0, 5, TimeUnit.MILLISECONDS);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long started = System.nanoTime();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+                        long requestStarted = System.nanoTime();
+                        if (send(uri)) {
+                            latencies.add(System.nanoTime() - requestStarted);
+                        } else {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdown();
+            sampler.shutdown();
+        }
+
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        List<Long> sorted = latencies.stream().sorted().collect(Collectors.toList());
+
+        LoadResult result = new LoadResult();
+        result.setThroughput(sorted.size() / elapsedSeconds);
+        result.setP50(percentile(sorted, 0.50));
+        result.setP99(percentile(sorted, 0.99));
+        result.setPeakConnections(peakConnections.get());
+        result.setFailures(failures.get());
+
+        return result;
+    }
+
+    private boolean send(URI uri) {
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("X-Sharer-User-Id", "1")
+                .timeout(Duration.ofSeconds(60))
+                .build();
+
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException exception) {
+            return false;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long percentile(List<Long> sorted, double quantile) {
+
+        if (sorted.isEmpty()) {
+            return -1;
+        }
+
+        return sorted.get(Math.min(sorted.size() - 1, (int) (quantile * sorted.size()))) / 1_000_000;
+    }
+
+    private static List<String> pinnedStacks(Recording recording) throws IOException {
+
+        Path file = Files.createTempFile("shareit-pinned", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .map(RecordedEvent::getStackTrace)
+                    .map(stackTrace -> stackTrace == null ? "no stack trace" : stackTrace.getFrames().stream()
+                            .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                                    + ":" + frame.getLineNumber())
+                            .collect(Collectors.joining("\n")))
+                    .collect(Collectors.toList());
+        } finally {
+            recording.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Data
+    private static class LoadResult {
+
+        private boolean virtual;
+
+        private double throughput;
+
+        private long p50;
+
+        private long p99;
+
+        private int peakConnections;
+
+        private int failures;
+
+        private List<String> pinned;
+    }
+
+    private static class LatencyProxy implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+
+        private final ExecutorService pipes = Executors.newCachedThreadPool();
+
+        LatencyProxy(String host, int port, long latencyMillis) throws IOException {
+
+            serverSocket = new ServerSocket();
+            serverSocket.bind(new InetSocketAddress("localhost", 0));
+
+            pipes.submit(() -> {
+                while (!serverSocket.isClosed()) {
+                    try {
+                        Socket client = serverSocket.accept();
+                        Socket server = new Socket(host, port);
+                        client.setTcpNoDelay(true);
+                        server.setTcpNoDelay(true);
+                        pipes.submit(() -> pipe(client, server, 0));
+                        pipes.submit(() -> pipe(server, client, latencyMillis));
+                    } catch (IOException exception) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        int getPort() {
+
+            return serverSocket.getLocalPort();
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            serverSocket.close();
+            pipes.shutdownNow();
+        }
+
+        private static void pipe(Socket from, Socket to, long latencyMillis) {
+
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    if (latencyMillis > 0) {
+                        Thread.sleep(latencyMillis);
+                    }
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+            } catch (IOException | InterruptedException exception) {
+                closeQuietly(from);
+            } finally {
+                closeQuietly(to);
+            }
+        }
+
+        private static void closeQuietly(Socket socket) {
+
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package ru.practicum.shareit.bookingtests;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.booking.interfaces.BookingService;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.exception.DataBadRequestException;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Slf4j
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingApprovalConcurrencyTests {
+
+    private static final int ITEM_COUNT = 8;
+    private static final int BOOKINGS_PER_ITEM = 40;
+    private static final int THREAD_COUNT = 16;
+
+    private final BookingService bookingService;
+    private final BookingIntervalIndex bookingIntervalIndex;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+
+    private User owner;
+
+    private List<Booking> bookings;
+
+    @BeforeEach
+    void init() {
+
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("Owner@mail.ru");
+        userRepository.save(owner);
+
+        User booker = new User();
+        booker.setName("Booker");
+        booker.setEmail("Booker@mail.ru");
+        userRepository.save(booker);
+
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusDays(1);
+        bookings = new ArrayList<>();
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            Item item = new Item();
+            item.setName("Item " + i);
+            item.setDescription("Description");
+            item.setAvailable(true);
+            item.setOwnerId(owner.getId());
+            itemRepository.save(item);
+
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                Booking booking = new Booking();
+                booking.setStart(now.plusHours(random.nextInt(200)));
+                booking.setEnd(booking.getStart().plusHours(1 + random.nextInt(24)));
+                booking.setItem(item);
+                booking.setBooker(booker);
+                booking.setStatus(Status.WAITING);
+                bookings.add(booking);
+            }
+        }
+
+        bookingRepository.saveAll(bookings);
+    }
+
+    @AfterEach
+    void cleanUp() {
+
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentApprovalsNeverDoubleBookTest() throws Exception {
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        AtomicInteger rejectedByConflict = new AtomicInteger();
+        AtomicInteger rejectedByVersion = new AtomicInteger();
+
+        for (Booking booking : bookings) {
+            for (boolean approved : new boolean[]{true, true, false}) {
+                tasks.add(() -> {
+                    try {
+                        bookingService.approveBooking(owner.getId(), booking.getId(), approved);
+                    } catch (DataBadRequestException e) {
+                        rejectedByConflict.incrementAndGet();
+                    } catch (OptimisticLockingFailureException e) {
+                        rejectedByVersion.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+        }
+        Collections.shuffle(tasks, new Random(7));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        long started = System.nanoTime();
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        log.info("{} approve/reject calls on {} items with {} threads: {} calls/s, {} overlap or status conflicts, " +
+                        "{} version conflicts", tasks.size(), ITEM_COUNT, THREAD_COUNT,
+                String.format("%.0f", tasks.size() / seconds), rejectedByConflict.get(), rejectedByVersion.get());
+
+        Map<Long, List<Booking>> byItem = bookingRepository.findAll().stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+
+        assertThat(byItem.keySet(), hasSize(ITEM_COUNT));
+
+        for (List<Booking> itemBookings : byItem.values()) {
+            List<Booking> approved = itemBookings.stream()
+                    .filter(booking -> booking.getStatus() == Status.APPROVED)
+                    .sorted(Comparator.comparing(Booking::getStart))
+                    .collect(Collectors.toList());
+
+            assertThat(approved, not(empty()));
+
+            for (int i = 1; i < approved.size(); i++) {
+                assertThat(approved.get(i).getStart(), not(lessThan(approved.get(i - 1).getEnd())));
+            }
+
+            for (Booking booking : itemBookings) {
+                assertThat(booking.getStatus(), not(equalTo(Status.WAITING)));
+
+                boolean overlapsApproved = approved.stream().anyMatch(other ->
+                        other.getStart().isBefore(booking.getEnd()) && booking.getStart().isBefore(other.getEnd()));
+                assertThat(bookingIntervalIndex.isBooked(booking.getItem().getId(), booking.getStart(),
+                        booking.getEnd()), equalTo(overlapsApproved));
+            }
+        }
+    }
+}
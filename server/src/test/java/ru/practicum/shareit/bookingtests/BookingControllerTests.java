@@ -5,10 +5,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.ResponseBatchBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.interfaces.BookingService;
 import ru.practicum.shareit.booking.model.Status;
@@ -23,6 +27,7 @@ import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -71,6 +76,45 @@ public class BookingControllerTests {
                 .andExpect(jsonPath("$.status", is(responseBookingDto.getStatus().toString())));
     }
 
+    @Test
+    void addBookingsTest() throws Exception {
+
+        LocalDateTime now = LocalDateTime.now().plusMinutes(1);
+        ItemDto itemDto = makeItemDto(1L, "Vilka", "Description");
+        UserDto userDto = makeUserDto(2L, "Alex", "Alex@Alex.ru");
+
+        ResponseBatchBookingDto created = new ResponseBatchBookingDto();
+        created.setStatus(201);
+        created.setBooking(makeResponseBookingDto(1L, now, now.plusDays(1), itemDto, userDto, Status.WAITING));
+
+        ResponseBatchBookingDto failed = new ResponseBatchBookingDto();
+        failed.setStatus(404);
+        failed.setError("Item with id = 9 not found");
+
+        when(bookingService.addBookings(eq(2L), anyList()))
+                .thenReturn(List.of(created, failed));
+
+        List<CreateBookingDto> createBookingDtoList = List.of(
+                makeCreateBookingDto(null, now, now.plusDays(1), 1L, 2L, null),
+                makeCreateBookingDto(null, now, now.plusDays(1), 9L, 2L, null));
+
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(createBookingDtoList))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is(201)))
+                .andExpect(jsonPath("$[0].booking.id", is(1L), Long.class))
+                .andExpect(jsonPath("$[0].booking.item.id", is(itemDto.getId()), Long.class))
+                .andExpect(jsonPath("$[0].error", is(nullValue())))
+                .andExpect(jsonPath("$[1].status", is(404)))
+                .andExpect(jsonPath("$[1].booking", is(nullValue())))
+                .andExpect(jsonPath("$[1].error", is(failed.getError())));
+    }
+
     @Test
     void approveBookingTest() throws Exception {
 
@@ -219,6 +263,53 @@ public class BookingControllerTests {
                 .andExpect(jsonPath("$[1].status", is(responseBookingDto2.getStatus().toString())));
     }
 
+    @Test
+    void getAllBookingAfterTest() throws Exception {
+
+        LocalDateTime now = LocalDateTime.now().plusMinutes(1);
+        ItemDto itemDto = makeItemDto(1L, "Vilka", "Description");
+        UserDto userDto = makeUserDto(2L, "Alex", "Alex@Alex.ru");
+        ResponseBookingDto responseBookingDto = makeResponseBookingDto(5L, now, now.plusDays(1),
+                itemDto, userDto, Status.APPROVED);
+        String after = new BookingCursor(now.plusDays(2), 9L).encode();
+
+        when(bookingService.getAllBookingAfter(anyLong(), anyString(), eq(after), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(responseBookingDto), PageRequest.of(0, 1), true));
+
+        mvc.perform(get("/bookings?state=ALL&from=0&size=1&after=" + after)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.ALL)
+                        .header("X-Sharer-User-Id", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER,
+                        BookingCursor.of(responseBookingDto).encode()))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(responseBookingDto.getId()), Long.class));
+    }
+
+    @Test
+    void getAllOwnerBookingAfterTest() throws Exception {
+
+        LocalDateTime now = LocalDateTime.now().plusMinutes(1);
+        ItemDto itemDto = makeItemDto(1L, "Vilka", "Description");
+        UserDto userDto = makeUserDto(2L, "Alex", "Alex@Alex.ru");
+        ResponseBookingDto responseBookingDto = makeResponseBookingDto(5L, now, now.plusDays(1),
+                itemDto, userDto, Status.APPROVED);
+        String after = new BookingCursor(now.plusDays(2), 9L).encode();
+
+        when(bookingService.getAllOwnerBookingAfter(anyLong(), anyString(), eq(after), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(responseBookingDto), PageRequest.of(0, 1), false));
+
+        mvc.perform(get("/bookings/owner?state=ALL&from=0&size=1&after=" + after)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.ALL)
+                        .header("X-Sharer-User-Id", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(responseBookingDto.getId()), Long.class));
+    }
+
     private CreateBookingDto makeCreateBookingDto(Long id, LocalDateTime start, LocalDateTime end,
                                          Long itemId, Long bookerId, Status status) {
 
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.bookingtests;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.booking.interfaces.BookingService;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.interfaces.UserService;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingIntervalIndexIntegrationTests {
+
+    private final BookingService bookingService;
+    private final UserService userService;
+    private final BookingIntervalIndex bookingIntervalIndex;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+
+    private User owner;
+
+    private Item item;
+
+    @BeforeEach
+    void init() {
+
+        owner = userRepository.save(makeUser("Owner", "Owner@mail.ru"));
+
+        item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless");
+        item.setAvailable(true);
+        item.setOwnerId(owner.getId());
+        itemRepository.save(item);
+    }
+
+    @AfterEach
+    void cleanUp() {
+
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void removedBookerFreesIntervalTest() {
+
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusDays(1);
+
+        User booker = userRepository.save(makeUser("Booker", "Booker@mail.ru"));
+        Booking booking = bookingRepository.save(makeBooking(booker, start, start.plusDays(2)));
+        bookingService.approveBooking(owner.getId(), booking.getId(), true);
+
+        userService.removeUser(booker.getId());
+
+        assertThat(bookingIntervalIndex.isBooked(item.getId(), start, start.plusDays(2)), equalTo(false));
+
+        User otherBooker = userRepository.save(makeUser("Other", "Other@mail.ru"));
+        Booking overlapping = bookingRepository.save(makeBooking(otherBooker, start.plusDays(1), start.plusDays(3)));
+
+        assertThat(bookingService.approveBooking(owner.getId(), overlapping.getId(), true).getStatus(),
+                equalTo(Status.APPROVED));
+        assertThat(bookingIntervalIndex.isBooked(item.getId(), start.plusDays(1), start.plusDays(3)),
+                equalTo(true));
+    }
+
+    private Booking makeBooking(User booker, LocalDateTime start, LocalDateTime end) {
+
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(Status.WAITING);
+
+        return booking;
+    }
+
+    private User makeUser(String name, String email) {
+
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+
+        return user;
+    }
+}
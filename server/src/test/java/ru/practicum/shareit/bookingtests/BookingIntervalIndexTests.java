@@ -0,0 +1,221 @@
+package ru.practicum.shareit.bookingtests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingIntervalIndexTests {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private static final long BOOKER_ID = 5L;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @BeforeEach
+    void setUp() {
+
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository);
+    }
+
+    @Test
+    void isBookedTest() {
+
+        bookingIntervalIndex.reserve(1L, BOOKER_ID, at(10), at(20));
+        bookingIntervalIndex.reserve(1L, BOOKER_ID, at(30), at(40));
+
+        assertThat(bookingIntervalIndex.isBooked(1L, at(0), at(10)), equalTo(false));
+        assertThat(bookingIntervalIndex.isBooked(1L, at(20), at(30)), equalTo(false));
+        assertThat(bookingIntervalIndex.isBooked(1L, at(40), at(50)), equalTo(false));
+        assertThat(bookingIntervalIndex.isBooked(1L, at(5), at(11)), equalTo(true));
+        assertThat(bookingIntervalIndex.isBooked(1L, at(12), at(15)), equalTo(true));
+        assertThat(bookingIntervalIndex.isBooked(1L, at(19), at(31)), equalTo(true));
+        assertThat(bookingIntervalIndex.isBooked(1L, at(0), at(50)), equalTo(true));
+        assertThat(bookingIntervalIndex.isBooked(2L, at(0), at(50)), equalTo(false));
+    }
+
+    @Test
+    void reserveTest() {
+
+        assertThat(bookingIntervalIndex.reserve(1L, BOOKER_ID, at(10), at(20)), equalTo(true));
+        assertThat(bookingIntervalIndex.reserve(1L, BOOKER_ID, at(15), at(25)), equalTo(false));
+        assertThat(bookingIntervalIndex.reserve(1L, BOOKER_ID, at(10), at(20)), equalTo(false));
+        assertThat(bookingIntervalIndex.reserve(1L, BOOKER_ID, at(20), at(25)), equalTo(true));
+        assertThat(bookingIntervalIndex.reserve(2L, BOOKER_ID, at(15), at(25)), equalTo(true));
+    }
+
+    @Test
+    void reserveReleasedOnRollbackTest() {
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(bookingIntervalIndex.reserve(1L, BOOKER_ID, at(10), at(20)), equalTo(true));
+            assertThat(bookingIntervalIndex.reserve(1L, BOOKER_ID, at(30), at(40)), equalTo(true));
+            assertThat(bookingIntervalIndex.isBooked(1L, at(10), at(40)), equalTo(true));
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager
+                    .getSynchronizations();
+            synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(bookingIntervalIndex.isBooked(1L, at(10), at(20)), equalTo(true));
+        assertThat(bookingIntervalIndex.isBooked(1L, at(20), at(40)), equalTo(false));
+        assertThat(bookingIntervalIndex.reserve(1L, BOOKER_ID, at(30), at(40)), equalTo(true));
+    }
+
+    @Test
+    void removeBookerTest() {
+
+        bookingIntervalIndex.reserve(1L, BOOKER_ID, at(10), at(20));
+        bookingIntervalIndex.reserve(1L, 6L, at(30), at(40));
+        bookingIntervalIndex.reserve(2L, BOOKER_ID, at(10), at(20));
+
+        bookingIntervalIndex.removeBooker(BOOKER_ID);
+
+        assertThat(bookingIntervalIndex.isBooked(1L, at(10), at(20)), equalTo(false));
+        assertThat(bookingIntervalIndex.isBooked(1L, at(30), at(40)), equalTo(true));
+        assertThat(bookingIntervalIndex.isBooked(2L, at(10), at(20)), equalTo(false));
+        assertThat(bookingIntervalIndex.reserve(1L, 6L, at(15), at(25)), equalTo(true));
+    }
+
+    @Test
+    void removeBookerRestoredOnRollbackTest() {
+
+        bookingIntervalIndex.reserve(1L, BOOKER_ID, at(10), at(20));
+        bookingIntervalIndex.reserve(1L, 6L, at(30), at(40));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookingIntervalIndex.removeBooker(BOOKER_ID);
+            assertThat(bookingIntervalIndex.isBooked(1L, at(10), at(20)), equalTo(false));
+
+            TransactionSynchronizationManager.getSynchronizations().get(0)
+                    .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(bookingIntervalIndex.isBooked(1L, at(10), at(20)), equalTo(true));
+        assertThat(bookingIntervalIndex.isBooked(1L, at(30), at(40)), equalTo(true));
+        assertThat(bookingIntervalIndex.isBooked(1L, at(20), at(30)), equalTo(false));
+    }
+
+    @Test
+    void reservePrunesEndedIntervalsTest() {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        bookingIntervalIndex.reserve(1L, BOOKER_ID, now.minusDays(3), now.minusDays(2));
+        assertThat(bookingIntervalIndex.isBooked(1L, now.minusDays(3), now.minusDays(2)), equalTo(true));
+
+        bookingIntervalIndex.reserve(1L, BOOKER_ID, now.plusDays(1), now.plusDays(2));
+
+        assertThat(bookingIntervalIndex.isBooked(1L, now.minusDays(3), now.minusDays(2)), equalTo(false));
+        assertThat(bookingIntervalIndex.isBooked(1L, now.plusDays(1), now.plusDays(2)), equalTo(true));
+    }
+
+    @Test
+    void isBookedWithNestedIntervalsTest() {
+
+        when(bookingRepository.findIntervalsByStatusAndEndAfter(eq(Status.APPROVED), any()))
+                .thenReturn(List.of(makeInterval(1L, 0, 100), makeInterval(1L, 10, 20)));
+
+        bookingIntervalIndex.rebuild();
+
+        assertThat(bookingIntervalIndex.isBooked(1L, at(50), at(60)), equalTo(true));
+        assertThat(bookingIntervalIndex.isBooked(1L, at(100), at(110)), equalTo(false));
+    }
+
+    @Test
+    void rebuildTest() {
+
+        when(bookingRepository.findIntervalsByStatusAndEndAfter(eq(Status.APPROVED), any()))
+                .thenReturn(List.of(makeInterval(1L, 10, 20), makeInterval(1L, 30, 40), makeInterval(2L, 0, 5)));
+
+        bookingIntervalIndex.reserve(3L, BOOKER_ID, at(0), at(100));
+        bookingIntervalIndex.rebuild();
+
+        assertThat(bookingIntervalIndex.isBooked(1L, at(15), at(16)), equalTo(true));
+        assertThat(bookingIntervalIndex.isBooked(1L, at(35), at(36)), equalTo(true));
+        assertThat(bookingIntervalIndex.isBooked(1L, at(20), at(30)), equalTo(false));
+        assertThat(bookingIntervalIndex.isBooked(2L, at(4), at(5)), equalTo(true));
+        assertThat(bookingIntervalIndex.isBooked(3L, at(0), at(100)), equalTo(false));
+    }
+
+    @Test
+    void reserveMatchesLinearScanTest() {
+
+        Random random = new Random(42);
+        List<long[]> reserved = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            long start = random.nextInt(100_000);
+            long end = start + 1 + random.nextInt(100);
+
+            boolean overlaps = reserved.stream()
+                    .anyMatch(interval -> interval[0] < end && start < interval[1]);
+            assertThat(bookingIntervalIndex.isBooked(1L, at(start), at(end)), equalTo(overlaps));
+            assertThat(bookingIntervalIndex.reserve(1L, BOOKER_ID, at(start), at(end)), equalTo(!overlaps));
+
+            if (!overlaps) {
+                reserved.add(new long[]{start, end});
+            }
+        }
+    }
+
+    private LocalDateTime at(long hours) {
+
+        return BASE.plusHours(hours);
+    }
+
+    private BookingInterval makeInterval(Long itemId, long start, long end) {
+
+        return new BookingInterval() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return BOOKER_ID;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return at(start);
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return at(end);
+            }
+        };
+    }
+}
@@ -0,0 +1,189 @@
+package ru.practicum.shareit.bookingtests;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.interfaces.RequestRepository;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class BookingRepositoryStatisticsTests {
+
+    private static final int BOOKING_COUNT = 64;
+    private static final int PAGE_SIZE = 8;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    TestEntityManager testEntityManager;
+
+    private Statistics statistics;
+
+    private User booker;
+    private User owner;
+
+    @BeforeEach
+    void init() {
+
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("Owner@mail.ru");
+        testEntityManager.persist(owner);
+
+        booker = new User();
+        booker.setName("Booker");
+        booker.setEmail("Booker@mail.ru");
+        testEntityManager.persist(booker);
+
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < BOOKING_COUNT; i++) {
+            Request request = new Request();
+            request.setDescription("Request " + i);
+            request.setCreated(now.minusHours(i));
+            request.setRequestor(booker);
+            testEntityManager.persist(request);
+
+            Item item = new Item();
+            item.setName("Drill " + i);
+            item.setDescription("Cordless drill");
+            item.setAvailable(true);
+            item.setOwnerId(owner.getId());
+            item.setRequest(request);
+            testEntityManager.persist(item);
+
+            Booking booking = new Booking();
+            booking.setStart(now.minusDays(i + 2));
+            booking.setEnd(now.minusDays(i + 1));
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(Status.APPROVED);
+            testEntityManager.persist(booking);
+        }
+
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        statistics = testEntityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void pageQueryIssuesCountStatementTest() {
+
+        Page<Booking> bookingPage = bookingRepository.findAll(PageRequest.of(1, PAGE_SIZE));
+
+        assertThat(bookingPage.getContent(), hasSize(PAGE_SIZE));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void bookerSliceQueriesIssueSingleStatementTest() {
+
+        PageRequest page = PageRequest.of(1, PAGE_SIZE);
+
+        assertSingleStatement(bookingRepository.findByBookerIdOrderByStartDesc(booker.getId(), page));
+        assertSingleStatement(bookingRepository.findByBookerIdWithPastState(booker.getId(), page));
+        assertSingleStatement(bookingRepository
+                .findByBookerIdAndStatusOrderByStartDesc(booker.getId(), Status.APPROVED, page));
+    }
+
+    @Test
+    void ownerSliceQueriesIssueSingleStatementTest() {
+
+        PageRequest page = PageRequest.of(1, PAGE_SIZE);
+
+        assertSingleStatement(bookingRepository.findByItemOwnerIdOrderByStartDesc(owner.getId(), page));
+        assertSingleStatement(bookingRepository.findByItemOwnerIdWithPastState(owner.getId(), page));
+        assertSingleStatement(bookingRepository
+                .findByItemOwnerIdAndStatusOrderByStartDesc(owner.getId(), Status.APPROVED, page));
+    }
+
+    @Test
+    void requestSliceQueryIssuesSingleStatementTest() {
+
+        assertSingleStatement(requestRepository.findByOtherRequestorId(owner.getId(), PageRequest.of(1, PAGE_SIZE)));
+    }
+
+    @Test
+    void projectedBookerPagesIssueSingleStatementTest() {
+
+        LocalDateTime after = LocalDateTime.now();
+
+        for (int size : new int[]{PAGE_SIZE, BOOKING_COUNT / 2}) {
+            PageRequest page = PageRequest.of(0, size);
+
+            assertProjectedSingleStatement(bookingRepository.findByBookerIdOrderByStartDesc(booker.getId(), page), size);
+            assertProjectedSingleStatement(bookingRepository.findByBookerIdWithPastState(booker.getId(), page), size);
+            assertProjectedSingleStatement(bookingRepository
+                    .findByBookerIdAndStatusOrderByStartDesc(booker.getId(), Status.APPROVED, page), size);
+            assertProjectedSingleStatement(bookingRepository
+                    .findByBookerIdAfter(booker.getId(), after, Long.MAX_VALUE, page), size);
+            assertProjectedSingleStatement(bookingRepository
+                    .findByBookerIdWithPastStateAfter(booker.getId(), after, Long.MAX_VALUE, page), size);
+        }
+    }
+
+    @Test
+    void projectedOwnerPagesIssueSingleStatementTest() {
+
+        LocalDateTime after = LocalDateTime.now();
+
+        for (int size : new int[]{PAGE_SIZE, BOOKING_COUNT / 2}) {
+            PageRequest page = PageRequest.of(0, size);
+
+            assertProjectedSingleStatement(bookingRepository.findByItemOwnerIdOrderByStartDesc(owner.getId(), page), size);
+            assertProjectedSingleStatement(bookingRepository.findByItemOwnerIdWithPastState(owner.getId(), page), size);
+            assertProjectedSingleStatement(bookingRepository
+                    .findByItemOwnerIdAndStatusOrderByStartDesc(owner.getId(), Status.APPROVED, page), size);
+            assertProjectedSingleStatement(bookingRepository
+                    .findByItemOwnerIdAfter(owner.getId(), after, Long.MAX_VALUE, page), size);
+            assertProjectedSingleStatement(bookingRepository
+                    .findByItemOwnerIdAndStatusAfter(owner.getId(), Status.APPROVED, after, Long.MAX_VALUE, page),
+                    size);
+        }
+    }
+
+    private void assertProjectedSingleStatement(Slice<ResponseBookingDto> slice, int size) {
+
+        assertThat(slice.getContent(), hasSize(size));
+        assertThat(slice.getContent().get(0).getItem().getRequestId(), notNullValue());
+        assertThat(slice.getContent().get(0).getBooker().getEmail(), equalTo(booker.getEmail()));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+
+        statistics.clear();
+    }
+
+    private void assertSingleStatement(Slice<?> slice) {
+
+        assertThat(slice.getContent(), hasSize(PAGE_SIZE));
+        assertThat(slice.hasNext(), equalTo(true));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+
+        statistics.clear();
+    }
+}
@@ -6,15 +6,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.interfaces.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.NearestBooking;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -71,14 +79,14 @@ public class BookingRepositoryTests {
     void findByBookerIdOrderByStartDescTest() throws Exception {
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository.findByBookerIdOrderByStartDesc(user.getId(), page).toList();
+        List<ResponseBookingDto> bookingList = bookingRepository.findByBookerIdOrderByStartDesc(user.getId(), page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.APPROVED));
     }
 
@@ -86,14 +94,14 @@ public class BookingRepositoryTests {
     void findByBookerIdWithCurrentStateTest() throws Exception {
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository.findByBookerIdWithCurrentState(user.getId(), page).toList();
+        List<ResponseBookingDto> bookingList = bookingRepository.findByBookerIdWithCurrentState(user.getId(), page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.APPROVED));
     }
 
@@ -105,14 +113,14 @@ public class BookingRepositoryTests {
         testEntityManager.persistAndFlush(booking);
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository.findByBookerIdWithPastState(user.getId(), page).toList();
+        List<ResponseBookingDto> bookingList = bookingRepository.findByBookerIdWithPastState(user.getId(), page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.APPROVED));
     }
 
@@ -124,14 +132,14 @@ public class BookingRepositoryTests {
         testEntityManager.persistAndFlush(booking);
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository.findByBookerIdWithFutureState(user.getId(), page).toList();
+        List<ResponseBookingDto> bookingList = bookingRepository.findByBookerIdWithFutureState(user.getId(), page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.APPROVED));
     }
 
@@ -139,15 +147,15 @@ public class BookingRepositoryTests {
     void findByBookerIdAndStatusOrderByStartDescApprovedTest() throws Exception {
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository
+        List<ResponseBookingDto> bookingList = bookingRepository
                 .findByBookerIdAndStatusOrderByStartDesc(user.getId(), Status.APPROVED, page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.APPROVED));
     }
 
@@ -158,15 +166,15 @@ public class BookingRepositoryTests {
         testEntityManager.persistAndFlush(booking);
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository
+        List<ResponseBookingDto> bookingList = bookingRepository
                 .findByBookerIdAndStatusOrderByStartDesc(user.getId(), Status.WAITING, page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.WAITING));
     }
 
@@ -177,15 +185,15 @@ public class BookingRepositoryTests {
         testEntityManager.persistAndFlush(booking);
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository
+        List<ResponseBookingDto> bookingList = bookingRepository
                 .findByBookerIdAndStatusOrderByStartDesc(user.getId(), Status.REJECTED, page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.REJECTED));
     }
 
@@ -196,15 +204,15 @@ public class BookingRepositoryTests {
         testEntityManager.persistAndFlush(booking);
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository
+        List<ResponseBookingDto> bookingList = bookingRepository
                 .findByBookerIdAndStatusOrderByStartDesc(user.getId(), Status.CANCELED, page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.CANCELED));
     }
 
@@ -212,15 +220,15 @@ public class BookingRepositoryTests {
     void findByItemOwnerIdOrderByStartDescTest() throws Exception {
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository
+        List<ResponseBookingDto> bookingList = bookingRepository
                 .findByItemOwnerIdOrderByStartDesc(user.getId(), page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.APPROVED));
     }
 
@@ -228,15 +236,15 @@ public class BookingRepositoryTests {
     void findByItemOwnerIdWithCurrentStateTest() throws Exception {
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository
+        List<ResponseBookingDto> bookingList = bookingRepository
                 .findByItemOwnerIdWithCurrentState(user.getId(), page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.APPROVED));
     }
 
@@ -248,15 +256,15 @@ public class BookingRepositoryTests {
         testEntityManager.persistAndFlush(booking);
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository
+        List<ResponseBookingDto> bookingList = bookingRepository
                 .findByItemOwnerIdWithPastState(user.getId(), page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.APPROVED));
     }
 
@@ -268,15 +276,15 @@ public class BookingRepositoryTests {
         testEntityManager.persistAndFlush(booking);
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository
+        List<ResponseBookingDto> bookingList = bookingRepository
                 .findByItemOwnerIdWithFutureState(user.getId(), page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.APPROVED));
     }
 
@@ -284,15 +292,15 @@ public class BookingRepositoryTests {
     void findByItemOwnerIdAndStatusOrderByStartDescApprovedTest() throws Exception {
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository
+        List<ResponseBookingDto> bookingList = bookingRepository
                 .findByItemOwnerIdAndStatusOrderByStartDesc(user.getId(), Status.APPROVED, page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.APPROVED));
     }
 
@@ -303,15 +311,15 @@ public class BookingRepositoryTests {
         testEntityManager.persistAndFlush(booking);
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository
+        List<ResponseBookingDto> bookingList = bookingRepository
                 .findByItemOwnerIdAndStatusOrderByStartDesc(user.getId(), Status.WAITING, page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.WAITING));
     }
 
@@ -322,15 +330,15 @@ public class BookingRepositoryTests {
         testEntityManager.persistAndFlush(booking);
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository
+        List<ResponseBookingDto> bookingList = bookingRepository
                 .findByItemOwnerIdAndStatusOrderByStartDesc(user.getId(), Status.REJECTED, page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.REJECTED));
     }
 
@@ -341,53 +349,96 @@ public class BookingRepositoryTests {
         testEntityManager.persistAndFlush(booking);
 
         PageRequest page = PageRequest.of(0, 32);
-        List<Booking> bookingList = bookingRepository
+        List<ResponseBookingDto> bookingList = bookingRepository
                 .findByItemOwnerIdAndStatusOrderByStartDesc(user.getId(), Status.CANCELED, page).toList();
         assertThat(bookingList, notNullValue());
         assertThat(bookingList, hasSize(1));
         assertThat(bookingList.get(0).getId(), notNullValue());
         assertThat(bookingList.get(0).getStart(), notNullValue());
         assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
+        assertThat(bookingList.get(0).getItem(), equalTo(ItemMapper.toItemDto(item)));
+        assertThat(bookingList.get(0).getBooker(), equalTo(UserMapper.toUserDto(user)));
         assertThat(bookingList.get(0).getStatus(),  equalTo(Status.CANCELED));
     }
 
     @Test
-    void findLastBookingItemTest() throws Exception {
+    void findNearestBookingsTest() throws Exception {
 
-        booking.setStart(LocalDateTime.now().minusDays(5));
-        booking.setEnd(LocalDateTime.now().minusDays(3));
-        testEntityManager.persistAndFlush(booking);
+        LocalDateTime now = LocalDateTime.now();
+
+        booking.setStart(now.minusDays(5));
+        booking.setEnd(now.minusDays(3));
+        testEntityManager.persist(booking);
 
-        Booking booking = bookingRepository
-                .findLastBookingItem(item.getId(), Status.APPROVED.toString());
+        Booking lastBooking = makeBooking(now.minusDays(2), Status.APPROVED);
+        makeBooking(now.minusDays(1), Status.REJECTED);
+        Booking nextBooking = makeBooking(now.plusDays(1), Status.APPROVED);
+        makeBooking(now.plusDays(2), Status.APPROVED);
+        testEntityManager.flush();
 
-        assertThat(booking, notNullValue());
-        assertThat(booking.getId(), notNullValue());
-        assertThat(booking.getStart(), notNullValue());
-        assertThat(booking.getEnd(), notNullValue());
-        assertThat(booking.getItem(), equalTo(item));
-        assertThat(booking.getBooker(), equalTo(user));
-        assertThat(booking.getStatus(),  equalTo(Status.APPROVED));
+        List<NearestBooking> nearestBookings = bookingRepository
+                .findNearestBookingsByItemIds(List.of(item.getId()), now, Status.APPROVED.toString());
+        assertThat(nearestBookings, hasSize(2));
+
+        NearestBooking past = nearestBookings.get(0).getPast() ? nearestBookings.get(0) : nearestBookings.get(1);
+        NearestBooking future = nearestBookings.get(0).getPast() ? nearestBookings.get(1) : nearestBookings.get(0);
+        assertThat(past.getPast(), equalTo(true));
+        assertThat(past.getId(), equalTo(lastBooking.getId()));
+        assertThat(past.getItemId(), equalTo(item.getId()));
+        assertThat(past.getBookerId(), equalTo(user.getId()));
+        assertThat(future.getPast(), equalTo(false));
+        assertThat(future.getId(), equalTo(nextBooking.getId()));
+
+        nearestBookings = bookingRepository
+                .findNearestBookingsByItemIds(List.of(item.getId()), now.minusDays(10), Status.APPROVED.toString());
+        assertThat(nearestBookings, hasSize(1));
+        assertThat(nearestBookings.get(0).getPast(), equalTo(false));
+        assertThat(nearestBookings.get(0).getId(), equalTo(booking.getId()));
+
+        nearestBookings = bookingRepository
+                .findNearestBookingsByItemIds(List.of(item.getId()), now, Status.WAITING.toString());
+        assertThat(nearestBookings, empty());
     }
 
     @Test
-    void findNextBookingItemTest() throws Exception {
+    void findNearestBookingsForSeveralItemsTest() throws Exception {
 
-        booking.setStart(LocalDateTime.now().plusDays(1));
-        testEntityManager.persistAndFlush(booking);
+        LocalDateTime now = LocalDateTime.now();
+
+        Item otherItem = new Item();
+        otherItem.setName("Pen");
+        otherItem.setDescription("Blue");
+        otherItem.setAvailable(true);
+        otherItem.setOwnerId(user.getId());
+        testEntityManager.persist(otherItem);
 
-        Booking booking = bookingRepository
-                .findNextBookingItem(item.getId(), Status.APPROVED.toString());
+        booking.setStart(now.minusDays(5));
+        booking.setEnd(now.minusDays(3));
+        testEntityManager.persist(booking);
 
-        assertThat(booking, notNullValue());
-        assertThat(booking.getId(), notNullValue());
-        assertThat(booking.getStart(), notNullValue());
-        assertThat(booking.getEnd(), notNullValue());
-        assertThat(booking.getItem(), equalTo(item));
-        assertThat(booking.getBooker(), equalTo(user));
-        assertThat(booking.getStatus(),  equalTo(Status.APPROVED));
+        Booking nextBooking = makeBooking(now.plusDays(1), Status.APPROVED);
+        makeBooking(now.plusDays(2), Status.APPROVED);
+
+        Booking otherBooking = new Booking();
+        otherBooking.setStart(now.minusDays(1));
+        otherBooking.setEnd(now.plusDays(1));
+        otherBooking.setItem(otherItem);
+        otherBooking.setBooker(user);
+        otherBooking.setStatus(Status.APPROVED);
+        testEntityManager.persist(otherBooking);
+        testEntityManager.flush();
+
+        List<NearestBooking> nearestBookings = bookingRepository
+                .findNearestBookingsByItemIds(List.of(item.getId(), otherItem.getId()), now,
+                        Status.APPROVED.toString());
+        assertThat(nearestBookings, hasSize(3));
+        assertThat(nearestBookings.stream().map(NearestBooking::getId).collect(Collectors.toList()),
+                containsInAnyOrder(booking.getId(), nextBooking.getId(), otherBooking.getId()));
+
+        nearestBookings = bookingRepository
+                .findNearestBookingsByItemIds(List.of(otherItem.getId()), now, Status.APPROVED.toString());
+        assertThat(nearestBookings, hasSize(1));
+        assertThat(nearestBookings.get(0).getId(), equalTo(otherBooking.getId()));
     }
 
     @Test
@@ -401,17 +452,122 @@ public class BookingRepositoryTests {
     }
 
     @Test
-    void findByItemIdAndStatusOrderByStartTest() throws Exception {
+    void findIntervalsByStatusAndEndAfterTest() throws Exception {
 
-        List<Booking> bookingList = bookingRepository
-                .findByItemIdAndStatusOrderByStart(List.of(item.getId(), 5L, 9L), Status.APPROVED);
-        assertThat(bookingList, notNullValue());
+        List<BookingInterval> intervalList = bookingRepository
+                .findIntervalsByStatusAndEndAfter(Status.APPROVED, LocalDateTime.now());
+        assertThat(intervalList, hasSize(1));
+        assertThat(intervalList.get(0).getItemId(), equalTo(item.getId()));
+        assertThat(intervalList.get(0).getStart(), notNullValue());
+        assertThat(intervalList.get(0).getEnd(), notNullValue());
+
+        intervalList = bookingRepository.findIntervalsByStatusAndEndAfter(Status.APPROVED,
+                LocalDateTime.now().plusDays(3));
+        assertThat(intervalList, empty());
+
+        intervalList = bookingRepository.findIntervalsByStatusAndEndAfter(Status.WAITING, LocalDateTime.now());
+        assertThat(intervalList, empty());
+    }
+
+    @Test
+    void findByBookerIdAfterTest() throws Exception {
+
+        booking.setStart(booking.getStart().truncatedTo(ChronoUnit.SECONDS));
+        testEntityManager.persistAndFlush(booking);
+
+        Booking earlierBooking = new Booking();
+        earlierBooking.setStart(booking.getStart().minusDays(1));
+        earlierBooking.setEnd(booking.getEnd().minusDays(1));
+        earlierBooking.setItem(item);
+        earlierBooking.setBooker(user);
+        earlierBooking.setStatus(Status.APPROVED);
+        testEntityManager.persistAndFlush(earlierBooking);
+
+        PageRequest page = PageRequest.of(0, 1);
+        Slice<ResponseBookingDto> bookingSlice = bookingRepository
+                .findByBookerIdAfter(user.getId(), LocalDateTime.now().plusYears(1), Long.MAX_VALUE, page);
+        assertThat(bookingSlice.hasNext(), equalTo(true));
+        assertThat(bookingSlice.getContent(), hasSize(1));
+        assertThat(bookingSlice.getContent().get(0).getId(), equalTo(booking.getId()));
+
+        bookingSlice = bookingRepository
+                .findByBookerIdAfter(user.getId(), booking.getStart(), booking.getId(), page);
+        assertThat(bookingSlice.hasNext(), equalTo(false));
+        assertThat(bookingSlice.getContent(), hasSize(1));
+        assertThat(bookingSlice.getContent().get(0).getId(), equalTo(earlierBooking.getId()));
+    }
+
+    @Test
+    void findByItemOwnerIdAndStatusAfterTest() throws Exception {
+
+        booking.setStart(booking.getStart().truncatedTo(ChronoUnit.SECONDS));
+        testEntityManager.persistAndFlush(booking);
+
+        Booking sameStartBooking = new Booking();
+        sameStartBooking.setStart(booking.getStart());
+        sameStartBooking.setEnd(booking.getEnd());
+        sameStartBooking.setItem(item);
+        sameStartBooking.setBooker(user);
+        sameStartBooking.setStatus(Status.APPROVED);
+        testEntityManager.persistAndFlush(sameStartBooking);
+
+        PageRequest page = PageRequest.of(0, 32);
+        List<ResponseBookingDto> bookingList = bookingRepository
+                .findByItemOwnerIdAndStatusAfter(user.getId(), Status.APPROVED,
+                        sameStartBooking.getStart(), sameStartBooking.getId(), page).getContent();
         assertThat(bookingList, hasSize(1));
-        assertThat(bookingList.get(0).getId(), notNullValue());
-        assertThat(bookingList.get(0).getStart(), notNullValue());
-        assertThat(bookingList.get(0).getEnd(), notNullValue());
-        assertThat(bookingList.get(0).getItem(), equalTo(item));
-        assertThat(bookingList.get(0).getBooker(), equalTo(user));
-        assertThat(bookingList.get(0).getStatus(),  equalTo(Status.APPROVED));
+        assertThat(bookingList.get(0).getId(), equalTo(booking.getId()));
+
+        bookingList = bookingRepository
+                .findByItemOwnerIdAndStatusAfter(user.getId(), Status.WAITING,
+                        LocalDateTime.now().plusYears(1), Long.MAX_VALUE, page).getContent();
+        assertThat(bookingList, empty());
+    }
+
+    @Test
+    void offsetPagesBreakStartTiesByIdTest() throws Exception {
+
+        Booking sameStartBooking = makeBooking(booking.getStart(), Status.APPROVED);
+        sameStartBooking.setEnd(booking.getEnd());
+        testEntityManager.flush();
+
+        List<ResponseBookingDto> firstPage = bookingRepository
+                .findByItemOwnerIdOrderByStartDesc(user.getId(), PageRequest.of(0, 1)).getContent();
+        List<ResponseBookingDto> secondPage = bookingRepository
+                .findByItemOwnerIdOrderByStartDesc(user.getId(), PageRequest.of(1, 1)).getContent();
+        assertThat(firstPage.get(0).getId(), equalTo(sameStartBooking.getId()));
+        assertThat(secondPage.get(0).getId(), equalTo(booking.getId()));
+
+        List<ResponseBookingDto> afterFirstPage = bookingRepository
+                .findByItemOwnerIdAfter(user.getId(), firstPage.get(0).getStart(), firstPage.get(0).getId(),
+                        PageRequest.of(0, 1)).getContent();
+        assertThat(afterFirstPage.get(0).getId(), equalTo(secondPage.get(0).getId()));
+
+        firstPage = bookingRepository
+                .findByBookerIdAndStatusOrderByStartDesc(user.getId(), Status.APPROVED, PageRequest.of(0, 1))
+                .getContent();
+        assertThat(firstPage.get(0).getId(), equalTo(sameStartBooking.getId()));
+    }
+
+    @Test
+    void itemOwnerIdFilledOnPersistTest() throws Exception {
+
+        testEntityManager.clear();
+
+        Booking savedBooking = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertThat(savedBooking.getItemOwnerId(), equalTo(item.getOwnerId()));
+    }
+
+    private Booking makeBooking(LocalDateTime start, Status status) {
+
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(start.plusHours(12));
+        booking.setItem(item);
+        booking.setBooker(user);
+        booking.setStatus(status);
+        testEntityManager.persist(booking);
+
+        return booking;
     }
 }
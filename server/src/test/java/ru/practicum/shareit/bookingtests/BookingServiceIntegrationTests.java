@@ -1,11 +1,14 @@
 package ru.practicum.shareit.bookingtests;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.ResponseBatchBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.interfaces.BookingService;
 import ru.practicum.shareit.booking.model.Status;
@@ -20,6 +23,8 @@ import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -30,6 +35,8 @@ import static org.hamcrest.Matchers.*;
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class BookingServiceIntegrationTests {
 
+    private static final int BATCH_SIZE = 40;
+
     private final EntityManager entityManager;
     private final BookingService bookingService;
 
@@ -75,6 +82,31 @@ public class BookingServiceIntegrationTests {
         assertThat(responseBookingDto.getStatus(), equalTo(createBookingDto.getStatus()));
     }
 
+    @Test
+    public void addBookingsBatchesInsertsTest() {
+
+        TypedQuery<Item> itemQuery = entityManager.createQuery("Select i from Item i", Item.class);
+        long itemId = itemQuery.getSingleResult().getId();
+
+        TypedQuery<User> userQuery = entityManager.createQuery("Select u from User u Where u.name = :name", User.class);
+        long userId = userQuery.setParameter("name", "User").getSingleResult().getId();
+
+        List<CreateBookingDto> createBookingDtoList = Collections.nCopies(BATCH_SIZE,
+                makeCreateBookingDto(itemId, userId));
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+        long inserts = statistics.getEntityInsertCount();
+
+        List<ResponseBatchBookingDto> responses = bookingService.addBookings(userId, createBookingDtoList);
+        entityManager.flush();
+
+        assertThat(responses, hasSize(BATCH_SIZE));
+        assertThat(responses, everyItem(hasProperty("status", equalTo(201))));
+        assertThat(statistics.getEntityInsertCount() - inserts, equalTo((long) BATCH_SIZE));
+        assertThat(statistics.getPrepareStatementCount() - statements, lessThanOrEqualTo(4L));
+    }
+
     @Test
     public void approveBookingTest() {
 
@@ -245,8 +277,8 @@ public class BookingServiceIntegrationTests {
 
         CreateBookingDto dto = new CreateBookingDto();
         dto.setId(null);
-        dto.setStart(LocalDateTime.now().minusDays(1));
-        dto.setEnd(LocalDateTime.now().minusHours(10));
+        dto.setStart(LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS));
+        dto.setEnd(LocalDateTime.now().minusHours(10).truncatedTo(ChronoUnit.SECONDS));
         dto.setItemId(itemId);
         dto.setBookerId(bookerId);
         dto.setStatus(Status.WAITING);
@@ -1,13 +1,20 @@
 package ru.practicum.shareit.bookingtests;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingServiceImpl;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.ResponseBatchBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.interfaces.BookingRepository;
 import ru.practicum.shareit.booking.interfaces.BookingService;
@@ -16,11 +23,16 @@ import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.exception.DataBadRequestException;
 import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemSearchCache;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.ItemSummaryUpdater;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.interfaces.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.UserCache;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.interfaces.UserRepository;
 import ru.practicum.shareit.user.model.User;
@@ -28,12 +40,14 @@ import ru.practicum.shareit.user.model.User;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,11 +59,22 @@ public class BookingServiceTests {
     private UserRepository userRepository;
     @Mock
     private BookingRepository bookingRepository;
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private ItemSearchCache itemSearchCache;
+    @Mock
+    private ItemSummaryUpdater itemSummaryUpdater;
 
     @BeforeEach
     public void setUp() {
 
-        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository);
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository);
+        UserCache userCache = new UserCache(userRepository, 1000, new SimpleMeterRegistry());
+
+        bookingService = new BookingServiceImpl(bookingRepository, userCache, itemRepository,
+                bookingIntervalIndex, itemSearchIndex, itemSearchCache, itemSummaryUpdater);
     }
 
     @Test
@@ -115,6 +140,61 @@ public class BookingServiceTests {
         assertThrows(DataNotFoundException.class, () -> bookingService.addBooking(createBookingDto));
     }
 
+    @Test
+    public void addBookingsTest() {
+
+        when(userRepository.findById(0L)).thenReturn(Optional.empty());
+        User user = makeUser(1L, "Alex", "Alex@mail.net");
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        Item item = makeItem(1L, "Name", "Ho4u sleeeep!",
+                true, 2L, null);
+        Item unavailableItem = makeItem(2L, "Name", "Ho4u sleeeep!",
+                false, 2L, null);
+        Item ownItem = makeItem(3L, "Name", "Ho4u sleeeep!",
+                true, user.getId(), null);
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item, unavailableItem, ownItem));
+
+        when(bookingRepository.saveAll(any())).thenAnswer(invocationOnMock -> {
+            List<Booking> bookings = invocationOnMock.getArgument(0);
+            for (int i = 0; i < bookings.size(); i++) {
+                bookings.get(i).setId(i + 1L);
+            }
+            return bookings;
+        });
+
+        LocalDateTime dateTime = LocalDateTime.now();
+        bookingIntervalIndex.reserve(item.getId(), 3L, dateTime.plusDays(10), dateTime.plusDays(12));
+
+        List<CreateBookingDto> createBookingDtoList = List.of(
+                makeCreateBookingDto(null, dateTime.plusDays(1), dateTime.plusDays(2), item.getId(), 0L, null),
+                makeCreateBookingDto(null, dateTime.plusDays(1), dateTime.plusDays(2), 9L, 0L, null),
+                makeCreateBookingDto(null, dateTime.plusDays(1), dateTime.plusDays(2), unavailableItem.getId(),
+                        0L, null),
+                makeCreateBookingDto(null, dateTime.plusDays(1), dateTime.plusDays(2), ownItem.getId(), 0L, null),
+                makeCreateBookingDto(null, dateTime.plusDays(2), dateTime.plusDays(1), item.getId(), 0L, null),
+                makeCreateBookingDto(null, dateTime.plusDays(11), dateTime.plusDays(13), item.getId(), 0L, null),
+                makeCreateBookingDto(null, dateTime.plusDays(3), dateTime.plusDays(4), item.getId(), 0L, null));
+
+        List<ResponseBatchBookingDto> results = bookingService.addBookings(user.getId(), createBookingDtoList);
+        assertThat(results, hasSize(createBookingDtoList.size()));
+        assertThat(results.stream().map(ResponseBatchBookingDto::getStatus).collect(Collectors.toList()),
+                contains(201, 404, 400, 404, 400, 400, 201));
+
+        assertThat(results.get(0).getBooking().getId(), equalTo(1L));
+        assertThat(results.get(0).getBooking().getItem().getId(), equalTo(item.getId()));
+        assertThat(results.get(0).getBooking().getBooker().getId(), equalTo(user.getId()));
+        assertThat(results.get(0).getBooking().getStatus(), equalTo(Status.WAITING));
+        assertThat(results.get(0).getError(), nullValue());
+        assertThat(results.get(6).getBooking().getId(), equalTo(2L));
+
+        assertThat(results.get(1).getBooking(), nullValue());
+        assertThat(results.get(1).getError(), equalTo("Item with id = 9 not found"));
+
+        assertThrows(DataNotFoundException.class,
+                () -> bookingService.addBookings(0L, createBookingDtoList));
+    }
+
     @Test
     public void approveBookingTest() {
 
@@ -148,6 +228,9 @@ public class BookingServiceTests {
         assertThat(responseBookingDto.getBooker().getName(), equalTo(user.getName()));
         assertThat(responseBookingDto.getBooker().getEmail(), equalTo(user.getEmail()));
         assertThat(responseBookingDto.getStatus(), equalTo(Status.APPROVED));
+        verify(itemSearchIndex).addBooking(item.getId());
+        verify(itemSearchCache).evict(ItemMapper.toItemDto(item));
+        verify(itemSummaryUpdater).refresh(item.getId());
 
         assertThrows(DataBadRequestException.class,
                 () -> bookingService.approveBooking(2L, booking.getId(), true));
@@ -157,6 +240,7 @@ public class BookingServiceTests {
         assertThat(responseBookingDto, notNullValue());
         assertThat(responseBookingDto.getId(), equalTo(booking.getId()));
         assertThat(responseBookingDto.getStatus(), equalTo(Status.REJECTED));
+        verify(itemSummaryUpdater).refresh(item.getId());
 
         booking.setStatus(Status.WAITING);
         assertThrows(DataNotFoundException.class,
@@ -166,6 +250,68 @@ public class BookingServiceTests {
                 () -> bookingService.approveBooking(1L, booking.getId(), true));
     }
 
+    @Test
+    public void addBookingOverlappingApprovedTest() {
+
+        User user = makeUser(1L, "Alex", "Alex@mail.net");
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        Item item = makeItem(1L, "Name", "Ho4u sleeeep!",
+                true, 2L, null);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+
+        when(bookingRepository.save(any())).thenAnswer(invocationOnMock -> {
+            Booking booking = invocationOnMock.getArgument(0, Booking.class);
+            booking.setId(1L);
+            return booking;
+        });
+
+        LocalDateTime dateTime = LocalDateTime.now();
+        bookingIntervalIndex.reserve(item.getId(), 3L, dateTime.plusDays(2), dateTime.plusDays(4));
+
+        CreateBookingDto createBookingDto = makeCreateBookingDto(null, dateTime.plusDays(3), dateTime.plusDays(5),
+                item.getId(), user.getId(), null);
+        assertThrows(DataBadRequestException.class, () -> bookingService.addBooking(createBookingDto));
+
+        createBookingDto.setStart(dateTime.plusDays(1));
+        createBookingDto.setEnd(dateTime.plusDays(2));
+        assertThat(bookingService.addBooking(createBookingDto).getStatus(), equalTo(Status.WAITING));
+
+        createBookingDto.setStart(dateTime.plusDays(4));
+        createBookingDto.setEnd(dateTime.plusDays(6));
+        assertThat(bookingService.addBooking(createBookingDto).getStatus(), equalTo(Status.WAITING));
+    }
+
+    @Test
+    public void approveBookingOverlappingApprovedTest() {
+
+        User user = makeUser(1L, "Alex", "Alex@mail.net");
+
+        Item item = makeItem(1L, "Name", "Ho4u sleeeep!",
+                true, 2L, null);
+
+        LocalDateTime dateTime = LocalDateTime.now();
+        Booking booking = makeBooking(1L, dateTime.plusDays(1), dateTime.plusDays(3), item, user, Status.WAITING);
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        Booking otherBooking = makeBooking(2L, dateTime.plusDays(2), dateTime.plusDays(4), item, user,
+                Status.WAITING);
+        when(bookingRepository.findById(otherBooking.getId())).thenReturn(Optional.of(otherBooking));
+
+        when(bookingRepository.save(any()))
+                .thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0, Booking.class));
+
+        assertThat(bookingService.approveBooking(2L, booking.getId(), true).getStatus(), equalTo(Status.APPROVED));
+        assertThat(bookingIntervalIndex.isBooked(item.getId(), dateTime.plusDays(2), dateTime.plusDays(5)),
+                equalTo(true));
+
+        assertThrows(DataBadRequestException.class,
+                () -> bookingService.approveBooking(2L, otherBooking.getId(), true));
+        assertThat(otherBooking.getStatus(), equalTo(Status.WAITING));
+
+        assertThat(bookingService.approveBooking(2L, otherBooking.getId(), false).getStatus(),
+                equalTo(Status.REJECTED));
+    }
+
     @Test
     public void getBookingTest() {
 
@@ -232,17 +378,18 @@ public class BookingServiceTests {
 
         LocalDateTime dateTime = LocalDateTime.now();
         Booking booking = makeBooking(1L, dateTime.plusDays(1), dateTime.plusDays(2), item, user, Status.WAITING);
+        ResponseBookingDto bookingDto = BookingMapper.toResponseBookingDto(booking);
         when(bookingRepository.findAll()).thenReturn(List.of(booking));
         when(bookingRepository.findByBookerIdWithCurrentState(anyLong(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
         when(bookingRepository.findByBookerIdWithPastState(anyLong(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
         when(bookingRepository.findByBookerIdWithFutureState(anyLong(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
         when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
         when(bookingRepository.findByBookerIdOrderByStartDesc(anyLong(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
 
         List<ResponseBookingDto> list = bookingService.getAllBooking(user.getId(), null, 0, 50);
         assertThat(list, notNullValue());
@@ -319,16 +466,17 @@ public class BookingServiceTests {
 
         LocalDateTime dateTime = LocalDateTime.now();
         Booking booking = makeBooking(1L, dateTime.plusDays(1), dateTime.plusDays(2), item, user, Status.WAITING);
+        ResponseBookingDto bookingDto = BookingMapper.toResponseBookingDto(booking);
         when(bookingRepository.findByItemOwnerIdWithCurrentState(anyLong(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
         when(bookingRepository.findByItemOwnerIdWithPastState(anyLong(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
         when(bookingRepository.findByItemOwnerIdWithFutureState(anyLong(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
         when(bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
         when(bookingRepository.findByItemOwnerIdOrderByStartDesc(anyLong(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
 
         List<ResponseBookingDto> list = bookingService.getAllOwnerBooking(user.getId(),
                                             State.CURRENT.toString(), 0, 50);
@@ -388,6 +536,83 @@ public class BookingServiceTests {
                 () -> bookingService.getAllOwnerBooking(0L, State.ALL.toString(), 0, 1));
     }
 
+    @Test
+    public void getAllBookingAfterTest() {
+
+        when(userRepository.findById(0L)).thenReturn(Optional.empty());
+        User user = makeUser(1L, "Alex", "Alex@mail.net");
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        Item item = makeItem(1L, "Name", "Ho4u sleeeep!",
+                true, 2L, null);
+
+        LocalDateTime dateTime = LocalDateTime.now();
+        Booking booking = makeBooking(1L, dateTime.plusDays(1), dateTime.plusDays(2), item, user, Status.WAITING);
+        ResponseBookingDto bookingDto = BookingMapper.toResponseBookingDto(booking);
+        String after = new BookingCursor(dateTime.plusDays(3), 7L).encode();
+
+        when(bookingRepository.findByBookerIdAfter(user.getId(), dateTime.plusDays(3), 7L, PageRequest.of(0, 1)))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto), PageRequest.of(0, 1), true));
+        when(bookingRepository.findByBookerIdAndStatusAfter(anyLong(), any(), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
+
+        Slice<ResponseBookingDto> slice = bookingService.getAllBookingAfter(user.getId(), State.ALL.toString(),
+                after, 1);
+        assertThat(slice, notNullValue());
+        assertThat(slice.hasNext(), equalTo(true));
+        assertThat(slice.getContent(), hasSize(1));
+        assertThat(slice.getContent().get(0).getId(), equalTo(booking.getId()));
+        assertThat(slice.getContent().get(0).getItem().getId(), equalTo(item.getId()));
+        assertThat(slice.getContent().get(0).getBooker().getId(), equalTo(user.getId()));
+
+        slice = bookingService.getAllBookingAfter(user.getId(), State.WAITING.toString(), after, 50);
+        assertThat(slice.hasNext(), equalTo(false));
+        assertThat(slice.getContent(), hasSize(1));
+
+        assertThrows(DataBadRequestException.class,
+                () -> bookingService.getAllBookingAfter(user.getId(), State.ALL.toString(), "Nothing", 50));
+
+        assertThrows(DataNotFoundException.class,
+                () -> bookingService.getAllBookingAfter(0L, State.ALL.toString(), after, 50));
+    }
+
+    @Test
+    public void getAllOwnerBookingAfterTest() {
+
+        User user = makeUser(1L, "Alex", "Alex@mail.net");
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        Item item = makeItem(1L, "Name", "Ho4u sleeeep!",
+                true, 2L, null);
+
+        LocalDateTime dateTime = LocalDateTime.now();
+        Booking booking = makeBooking(1L, dateTime.plusDays(1), dateTime.plusDays(2), item, user, Status.WAITING);
+        ResponseBookingDto bookingDto = BookingMapper.toResponseBookingDto(booking);
+        String after = BookingCursor.of(BookingMapper.toResponseBookingDto(booking)).encode();
+
+        when(bookingRepository.findByItemOwnerIdWithCurrentStateAfter(anyLong(), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
+        when(bookingRepository.findByItemOwnerIdWithPastStateAfter(anyLong(), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
+        when(bookingRepository.findByItemOwnerIdWithFutureStateAfter(anyLong(), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
+        when(bookingRepository.findByItemOwnerIdAndStatusAfter(anyLong(), any(), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
+        when(bookingRepository.findByItemOwnerIdAfter(anyLong(), any(), anyLong(), any()))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
+
+        for (State state : State.values()) {
+            Slice<ResponseBookingDto> slice = bookingService.getAllOwnerBookingAfter(user.getId(), state.toString(),
+                    after, 50);
+            assertThat(slice, notNullValue());
+            assertThat(slice.getContent(), hasSize(1));
+            assertThat(slice.getContent().get(0).getId(), equalTo(booking.getId()));
+        }
+
+        assertThrows(DataBadRequestException.class,
+                () -> bookingService.getAllOwnerBookingAfter(user.getId(), "Nothing", after, 50));
+    }
+
     private ItemDto makeItemDto(Long id, String name, String description,
                                 Boolean available, Long owner, Long requestId) {
 
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.error.ErrorHandler;
@@ -16,6 +17,7 @@ import ru.practicum.shareit.item.interfaces.ItemService;
 import java.nio.charset.StandardCharsets;
 
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -39,7 +41,7 @@ public class ErrorHandlerTests {
 
         IllegalArgumentException illegalArgumentException = new IllegalArgumentException("Message");
 
-        when(itemService.getItems(anyLong()))
+        when(itemService.getItems(anyLong(), anyLong(), anyInt()))
                 .thenThrow(new IllegalArgumentException("Message"));
 
         mvc.perform(get("/items")
@@ -56,7 +58,7 @@ public class ErrorHandlerTests {
 
         DataNotFoundException dataNotFoundException = new DataNotFoundException("Message");
 
-        when(itemService.getItems(anyLong()))
+        when(itemService.getItems(anyLong(), anyLong(), anyInt()))
                 .thenThrow(new DataNotFoundException("Message"));
 
         mvc.perform(get("/items")
@@ -73,7 +75,7 @@ public class ErrorHandlerTests {
 
         DataBadRequestException dataBadRequestException = new DataBadRequestException("Message");
 
-        when(itemService.getItems(anyLong()))
+        when(itemService.getItems(anyLong(), anyLong(), anyInt()))
                 .thenThrow(dataBadRequestException);
 
         mvc.perform(get("/items")
@@ -85,6 +87,20 @@ public class ErrorHandlerTests {
                 .andExpect(jsonPath("$.description", is(dataBadRequestException.getMessage())));
     }
 
+    @Test
+    void optimisticLockingFailureExceptionTest() throws Exception {
+
+        when(itemService.getItems(anyLong(), anyLong(), anyInt()))
+                .thenThrow(new OptimisticLockingFailureException("Message"));
+
+        mvc.perform(get("/items")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.ALL)
+                        .header("X-Sharer-User-Id", "3"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("Concurrent modification")));
+    }
+
     @Test
     void  missingRequestHeaderExceptionTest() throws Exception {
 
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.ItemController;
@@ -21,6 +23,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -134,13 +137,14 @@ public class ItemControllerTests {
         ResponseItemDto responseItemDto1 = makeResponseItemDto(1L, "Name", "Alex", 2L, 4L);
         ResponseItemDto responseItemDto2 = makeResponseItemDto(2L, "Kosmo", "Ivan", 4L, 8L);
 
-        when(itemService.getItems(anyLong()))
-                .thenReturn(List.of(responseItemDto1, responseItemDto2));
+        when(itemService.getItems(3L, 0L, 50))
+                .thenReturn(new SliceImpl<>(List.of(responseItemDto1, responseItemDto2)));
 
         mvc.perform(get("/items")
                         .accept(MediaType.ALL)
                         .header("X-Sharer-User-Id", "3"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ItemController.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].id", is(responseItemDto1.getId()), Long.class))
                 .andExpect(jsonPath("$[0].name", is(responseItemDto1.getName())))
@@ -156,16 +160,35 @@ public class ItemControllerTests {
                 .andExpect(jsonPath("$[1].request", is(responseItemDto2.getRequest().intValue())));
     }
 
+    @Test
+    void getItemsAfterTest() throws Exception {
+
+        ResponseItemDto responseItemDto1 = makeResponseItemDto(5L, "Name", "Alex", 2L, 4L);
+        ResponseItemDto responseItemDto2 = makeResponseItemDto(7L, "Kosmo", "Ivan", 4L, 8L);
+
+        when(itemService.getItems(3L, 4L, 2))
+                .thenReturn(new SliceImpl<>(List.of(responseItemDto1, responseItemDto2), PageRequest.of(0, 2), true));
+
+        mvc.perform(get("/items?after=4&size=2")
+                        .accept(MediaType.ALL)
+                        .header("X-Sharer-User-Id", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ItemController.NEXT_CURSOR_HEADER, "7"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(responseItemDto1.getId()), Long.class))
+                .andExpect(jsonPath("$[1].id", is(responseItemDto2.getId()), Long.class));
+    }
+
     @Test
     void searchItemsTest() throws Exception {
 
         ItemDto itemDto1 = makeItemDto(1L, "Name", "Description", true, 1L, null);
         ItemDto itemDto2 = makeItemDto(2L, "Ilia", "Text", true, 3L, null);
 
-        when(itemService.searchItems(anyLong(), anyString()))
+        when(itemService.searchItems(3L, "iva", 10, 5))
                 .thenReturn(List.of(itemDto1, itemDto2));
 
-        mvc.perform(get("/items/search?text=iva")
+        mvc.perform(get("/items/search?text=iva&from=10&size=5")
                         .accept(MediaType.ALL)
                         .header("X-Sharer-User-Id", "3"))
                 .andExpect(status().isOk())
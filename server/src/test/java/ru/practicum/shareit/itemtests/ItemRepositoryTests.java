@@ -5,13 +5,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.interfaces.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingCount;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -55,9 +63,12 @@ public class ItemRepositoryTests {
     }
 
     @Test
-    void findByOwnerIdTest() throws Exception {
+    void findByIdGreaterThanTest() throws Exception {
 
-        List<Item> itemList = itemRepository.findByOwnerIdOrderById(user.getId());
+        Slice<Item> itemSlice = itemRepository.findByIdGreaterThanOrderById(0L, PageRequest.of(0, 10));
+        assertThat(itemSlice.hasNext(), equalTo(false));
+
+        List<Item> itemList = itemSlice.getContent();
         assertThat(itemList, notNullValue());
         assertThat(itemList, hasSize(1));
         assertThat(itemList.get(0).getId(), notNullValue());
@@ -67,21 +78,95 @@ public class ItemRepositoryTests {
         assertThat(itemList.get(0).getOwnerId(), equalTo(item.getOwnerId()));
         assertThat(itemList.get(0).getRequest(), notNullValue());
         assertThat(itemList.get(0).getRequest().getId(), equalTo(item.getRequest().getId()));
+
+        itemList = itemRepository.findByIdGreaterThanOrderById(item.getId(), PageRequest.of(0, 10)).getContent();
+        assertThat(itemList, empty());
     }
 
     @Test
-    void findByNameOrDescriptionContainingIgnoreCaseAndAvailableTrueTest() throws Exception {
+    void searchAvailableTest() throws Exception {
 
-        List<Item> itemList = itemRepository.findByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue("sma", "sma");
+        List<ItemDto> itemList = itemRepository.searchAvailable("%sma%", Status.APPROVED, PageRequest.of(0, 10))
+                .getContent();
         assertThat(itemList, notNullValue());
         assertThat(itemList, hasSize(1));
         assertThat(itemList.get(0).getId(), notNullValue());
         assertThat(itemList.get(0).getName(), equalTo(item.getName()));
         assertThat(itemList.get(0).getDescription(), equalTo(item.getDescription()));
         assertThat(itemList.get(0).getAvailable(), equalTo(item.getAvailable()));
-        assertThat(itemList.get(0).getOwnerId(), equalTo(item.getOwnerId()));
-        assertThat(itemList.get(0).getRequest(), notNullValue());
-        assertThat(itemList.get(0).getRequest().getId(), equalTo(item.getRequest().getId()));
+        assertThat(itemList.get(0).getOwner(), equalTo(item.getOwnerId()));
+        assertThat(itemList.get(0).getRequestId(), equalTo(item.getRequest().getId()));
+    }
+
+    @Test
+    void searchAvailableMatchesNameAndSkipsUnavailableTest() throws Exception {
+
+        makeItem("Pen", "Blue ink", false);
+        makeItem("Glue", "100% waterproof", true);
+        testEntityManager.flush();
+
+        List<ItemDto> itemList = search("%pen%", 0, 10);
+        assertThat(itemList, hasSize(1));
+        assertThat(itemList.get(0).getId(), equalTo(item.getId()));
+
+        assertThat(search("%ink%", 0, 10), empty());
+        assertThat(search("%0\\% w%", 0, 10), hasSize(1));
+        assertThat(search("%l\\_%", 0, 10), empty());
+    }
+
+    @Test
+    void searchAvailableRanksNameMatchesAndPopularItemsFirstTest() throws Exception {
+
+        Item descriptionMatch = makeItem("Hammer", "Goes with a drill", true);
+        Item quietDrill = makeItem("Drill", "Cordless", true);
+        Item popularDrill = makeItem("Hammer drill", "Corded", true);
+        Item otherDrill = makeItem("Drill press", "Heavy", true);
+
+        makeBooking(popularDrill, Status.APPROVED);
+        makeBooking(popularDrill, Status.APPROVED);
+        makeBooking(otherDrill, Status.APPROVED);
+        makeBooking(quietDrill, Status.REJECTED);
+        makeBooking(quietDrill, Status.WAITING);
+        makeBooking(descriptionMatch, Status.APPROVED);
+        makeBooking(descriptionMatch, Status.APPROVED);
+        makeBooking(descriptionMatch, Status.APPROVED);
+        testEntityManager.flush();
+
+        assertThat(search("%drill%", 0, 10).stream().map(ItemDto::getId).collect(Collectors.toList()),
+                contains(popularDrill.getId(), otherDrill.getId(), quietDrill.getId(), descriptionMatch.getId()));
+
+        Slice<ItemDto> firstPage = itemRepository.searchAvailable("%drill%", Status.APPROVED, PageRequest.of(0, 3));
+        assertThat(firstPage.getContent(), hasSize(3));
+        assertThat(firstPage.hasNext(), equalTo(true));
+
+        Slice<ItemDto> secondPage = itemRepository.searchAvailable("%drill%", Status.APPROVED, PageRequest.of(1, 3));
+        assertThat(secondPage.getContent(), hasSize(1));
+        assertThat(secondPage.getContent().get(0).getId(), equalTo(descriptionMatch.getId()));
+        assertThat(secondPage.hasNext(), equalTo(false));
+    }
+
+    @Test
+    void countBookingsByStatusTest() throws Exception {
+
+        makeBooking(item, Status.APPROVED);
+        makeBooking(item, Status.APPROVED);
+        makeBooking(item, Status.REJECTED);
+        testEntityManager.flush();
+
+        List<ItemBookingCount> counts = itemRepository.countBookingsByStatus(Status.APPROVED);
+        assertThat(counts, hasSize(1));
+        assertThat(counts.get(0).getItemId(), equalTo(item.getId()));
+        assertThat(counts.get(0).getBookings(), equalTo(2L));
+    }
+
+    @Test
+    void findAllItemDtosTest() throws Exception {
+
+        Item withoutRequest = makeItem("Pen", "Blue ink", false);
+        testEntityManager.flush();
+
+        List<ItemDto> itemList = itemRepository.findAllItemDtos();
+        assertThat(itemList, containsInAnyOrder(ItemMapper.toItemDto(item), ItemMapper.toItemDto(withoutRequest)));
     }
 
     @Test
@@ -98,4 +183,32 @@ public class ItemRepositoryTests {
         assertThat(itemList.get(0).getRequest(), notNullValue());
         assertThat(itemList.get(0).getRequest().getId(), equalTo(item.getRequest().getId()));
     }
+
+    private List<ItemDto> search(String pattern, int page, int size) {
+
+        return itemRepository.searchAvailable(pattern, Status.APPROVED, PageRequest.of(page, size)).getContent();
+    }
+
+    private Item makeItem(String name, String description, boolean available) {
+
+        Item newItem = new Item();
+        newItem.setName(name);
+        newItem.setDescription(description);
+        newItem.setAvailable(available);
+        newItem.setOwnerId(user.getId());
+        testEntityManager.persist(newItem);
+
+        return newItem;
+    }
+
+    private void makeBooking(Item bookedItem, Status status) {
+
+        Booking booking = new Booking();
+        booking.setStart(LocalDateTime.now().plusDays(1));
+        booking.setEnd(LocalDateTime.now().plusDays(2));
+        booking.setItem(bookedItem);
+        booking.setBooker(user);
+        booking.setStatus(status);
+        testEntityManager.persist(booking);
+    }
 }
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.itemtests;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.booking.interfaces.BookingService;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.ItemSearchCache;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.interfaces.ItemService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemSearchCacheIntegrationTests {
+
+    private final MeterRegistry meterRegistry;
+    private final ItemSearchCache itemSearchCache;
+
+    private final ItemService itemService;
+    private final BookingService bookingService;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+
+    private User owner;
+
+    private User booker;
+
+    private ItemDto drill;
+
+    @BeforeEach
+    void init() {
+
+        itemSearchCache.evictAll();
+
+        owner = userRepository.save(makeUser("Owner", "Owner@mail.ru"));
+        booker = userRepository.save(makeUser("Booker", "Booker@mail.ru"));
+
+        drill = itemService.addItem(new ItemDto(null, "Drill", "Cordless", true, owner.getId(), null));
+        itemService.addItem(new ItemDto(null, "Ladder", "Aluminium", true, owner.getId(), null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void unrelatedQuerySurvivesItemUpdateAndBookingApprovalTest() {
+
+        assertThat(search("ladder"), contains("Ladder"));
+        assertThat(search("drill"), contains("Drill"));
+        assertThat(search("hammer"), empty());
+
+        drill.setDescription("Hammer drill");
+        itemService.updateItem(drill);
+
+        Booking booking = new Booking();
+        booking.setStart(LocalDateTime.now().plusDays(1));
+        booking.setEnd(LocalDateTime.now().plusDays(2));
+        booking.setItem(itemRepository.findById(drill.getId()).orElseThrow());
+        booking.setBooker(booker);
+        booking.setStatus(Status.WAITING);
+        bookingRepository.save(booking);
+        bookingService.approveBooking(owner.getId(), booking.getId(), true);
+
+        double hits = gets("hit");
+        double misses = gets("miss");
+
+        assertThat(search("ladder"), contains("Ladder"));
+        assertThat(gets("hit"), equalTo(hits + 1));
+        assertThat(gets("miss"), equalTo(misses));
+
+        assertThat(search("drill"), contains("Drill"));
+        assertThat(search("hammer"), contains("Drill"));
+        assertThat(gets("hit"), equalTo(hits + 1));
+        assertThat(gets("miss"), equalTo(misses + 2));
+    }
+
+    private List<String> search(String text) {
+
+        return itemService.searchItems(booker.getId(), text, 0, 10).stream()
+                .map(ItemDto::getName)
+                .collect(Collectors.toList());
+    }
+
+    private double gets(String result) {
+
+        return meterRegistry.get("cache.gets").tag("cache", "itemSearch").tag("result", result)
+                .functionCounter().count();
+    }
+
+    private User makeUser(String name, String email) {
+
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+
+        return user;
+    }
+}
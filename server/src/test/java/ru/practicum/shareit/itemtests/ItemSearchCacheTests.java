@@ -0,0 +1,212 @@
+package ru.practicum.shareit.itemtests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemSearchCache;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ItemSearchCacheTests {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ItemSearchCache itemSearchCache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+        itemSearchCache = new ItemSearchCache(Duration.ofMinutes(1), 1000, meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void getCachesByNormalizedTextAndPageTest() {
+
+        ItemDto drill = makeItemDto(1L, "Drill", "Cordless", true);
+
+        assertThat(get("Drill", 0, 10, drill), contains(drill));
+        assertThat(get("DRILL", 0, 10, drill), contains(drill));
+        assertThat(get("drill", 0, 10, drill), contains(drill));
+        assertThat(loads.get(), equalTo(1));
+
+        get("drill", 10, 10);
+        get("drill", 0, 5);
+        assertThat(loads.get(), equalTo(3));
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "itemSearch").tag("result", "hit")
+                .functionCounter().count(), equalTo(2.0));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "itemSearch").tag("result", "miss")
+                .functionCounter().count(), equalTo(3.0));
+    }
+
+    @Test
+    void evictDropsOnlyMatchingQueriesTest() {
+
+        get("drill", 0, 10);
+        get("drill", 10, 10);
+        get("ladder", 0, 10);
+        assertThat(loads.get(), equalTo(3));
+
+        itemSearchCache.evict(makeItemDto(1L, "Drill", "Cordless", true));
+
+        get("drill", 0, 10);
+        get("drill", 10, 10);
+        get("ladder", 0, 10);
+        assertThat(loads.get(), equalTo(5));
+    }
+
+    @Test
+    void evictChecksOldAndNewVersionTest() {
+
+        get("drill", 0, 10);
+        get("hammer", 0, 10);
+        get("cordless", 0, 10);
+        get("ladder", 0, 10);
+        assertThat(loads.get(), equalTo(4));
+
+        itemSearchCache.evict(makeItemDto(1L, "Drill", "Cordless", true),
+                makeItemDto(1L, "Hammer", "Cordless", true));
+
+        get("ladder", 0, 10);
+        assertThat(loads.get(), equalTo(4));
+
+        get("drill", 0, 10);
+        get("hammer", 0, 10);
+        get("cordless", 0, 10);
+        assertThat(loads.get(), equalTo(7));
+    }
+
+    @Test
+    void evictMatchesItemThatBecameAvailableTest() {
+
+        get("drill", 0, 10);
+        get("ladder", 0, 10);
+
+        itemSearchCache.evict(makeItemDto(1L, "Drill", "Cordless", false),
+                makeItemDto(1L, "Drill", "Cordless", true));
+
+        get("drill", 0, 10);
+        get("ladder", 0, 10);
+        assertThat(loads.get(), equalTo(3));
+    }
+
+    @Test
+    void evictAllDropsEveryQueryTest() {
+
+        get("drill", 0, 10);
+        get("ladder", 0, 10);
+
+        itemSearchCache.evictAll();
+
+        get("drill", 0, 10);
+        get("ladder", 0, 10);
+        assertThat(loads.get(), equalTo(4));
+    }
+
+    @Test
+    void evictDuringLoadDropsLoadedResultTest() {
+
+        ItemDto drill = makeItemDto(1L, "Drill", "Cordless", true);
+
+        List<ItemDto> items = itemSearchCache.get("drill", 0, 10, () -> {
+            loads.incrementAndGet();
+            itemSearchCache.evict(drill);
+            return List.of(drill);
+        });
+
+        assertThat(items, contains(drill));
+        assertThat(itemSearchCache.size(), equalTo(0L));
+
+        get("drill", 0, 10, drill);
+        get("drill", 0, 10, drill);
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    void evictIgnoresUnavailableItemsTest() {
+
+        get("drill", 0, 10);
+
+        itemSearchCache.evict(makeItemDto(1L, "Drill", "Cordless", false), null);
+
+        get("drill", 0, 10);
+        assertThat(loads.get(), equalTo(1));
+    }
+
+    @Test
+    void evictWaitsForCommitTest() {
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            get("drill", 0, 10);
+
+            itemSearchCache.evict(makeItemDto(1L, "Drill", null, true));
+            itemSearchCache.evictAll();
+
+            get("drill", 0, 10);
+            assertThat(loads.get(), equalTo(1));
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager
+                    .getSynchronizations();
+            assertThat(synchronizations, hasSize(2));
+            synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            get("drill", 0, 10);
+            assertThat(loads.get(), equalTo(1));
+
+            synchronizations.get(1).afterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        get("drill", 0, 10);
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    void zeroTtlDisablesCacheTest() {
+
+        itemSearchCache = new ItemSearchCache(Duration.ZERO, 1000, meterRegistry);
+
+        get("drill", 0, 10);
+        get("drill", 0, 10);
+
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    void disabledCacheAlwaysLoadsTest() {
+
+        itemSearchCache = new ItemSearchCache(Duration.ofMinutes(1), 0, meterRegistry);
+
+        get("drill", 0, 10);
+        get("drill", 0, 10);
+
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    private List<ItemDto> get(String text, int from, int size, ItemDto... items) {
+
+        return itemSearchCache.get(text, from, size, () -> {
+            loads.incrementAndGet();
+            return List.of(items);
+        });
+    }
+
+    private ItemDto makeItemDto(Long id, String name, String description, Boolean available) {
+
+        return new ItemDto(id, name, description, available, 1L, null);
+    }
+}
@@ -0,0 +1,290 @@
+package ru.practicum.shareit.itemtests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.ItemSearchCache;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.ItemServiceImpl;
+import ru.practicum.shareit.item.ItemSummaryUpdater;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.interfaces.CommentRepository;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.interfaces.ItemService;
+import ru.practicum.shareit.item.interfaces.ItemSummaryRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.interfaces.RequestRepository;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.UserCache;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest
+public class ItemSearchIndexTests {
+
+    private static final String ALPHABET = "aAbBcC%_\\ ";
+
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private RequestRepository requestRepository;
+    @Autowired
+    private ItemSummaryRepository itemSummaryRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Random random = new Random(42);
+
+    private ItemSearchIndex itemSearchIndex;
+
+    private ItemService indexItemService;
+    private ItemService sqlItemService;
+
+    private User user;
+    private Request request;
+
+    @BeforeEach
+    void init() {
+
+        user = new User();
+        user.setName("Alex");
+        user.setEmail("Alex@mail.ru");
+        testEntityManager.persist(user);
+
+        request = new Request();
+        request.setDescription("Description");
+        request.setCreated(LocalDateTime.now());
+        request.setRequestor(user);
+        testEntityManager.persist(request);
+
+        itemSearchIndex = new ItemSearchIndex(itemRepository, true);
+
+        ItemSummaryUpdater itemSummaryUpdater = new ItemSummaryUpdater(itemRepository, itemSummaryRepository,
+                bookingRepository, commentRepository, new ObjectMapper().findAndRegisterModules());
+
+        UserCache userCache = new UserCache(userRepository, 1000, new SimpleMeterRegistry());
+
+        indexItemService = new ItemServiceImpl(itemRepository, userCache, bookingRepository,
+                commentRepository, requestRepository, itemSearchIndex,
+                new ItemSearchCache(Duration.ZERO, 0, new SimpleMeterRegistry()), itemSummaryRepository, itemSummaryUpdater);
+        sqlItemService = new ItemServiceImpl(itemRepository, userCache, bookingRepository,
+                commentRepository, requestRepository, new ItemSearchIndex(itemRepository, false),
+                new ItemSearchCache(Duration.ZERO, 0, new SimpleMeterRegistry()), itemSummaryRepository, itemSummaryUpdater);
+    }
+
+    @Test
+    void searchMatchesSqlTest() {
+
+        for (int i = 0; i < 150; i++) {
+            Item item = new Item();
+            item.setName(randomText(1, 12));
+            item.setDescription(random.nextInt(10) == 0 ? null : randomText(0, 24));
+            item.setAvailable(random.nextBoolean());
+            item.setOwnerId(user.getId());
+            item.setRequest(random.nextBoolean() ? request : null);
+            testEntityManager.persist(item);
+
+            for (int j = random.nextInt(4); j > 0; j--) {
+                makeBooking(item, random.nextBoolean() ? Status.APPROVED : Status.REJECTED);
+            }
+        }
+        testEntityManager.flush();
+
+        itemSearchIndex.rebuild();
+
+        List<Long> itemIds = new ArrayList<>();
+
+        for (int i = 0; i < 150; i++) {
+            ItemDto itemDto = new ItemDto();
+            itemDto.setName(randomText(1, 12));
+            itemDto.setDescription(randomText(0, 24));
+            itemDto.setAvailable(random.nextBoolean());
+            itemDto.setOwner(user.getId());
+            itemDto.setRequestId(random.nextBoolean() ? request.getId() : null);
+            itemIds.add(indexItemService.addItem(itemDto).getId());
+        }
+
+        for (int i = 0; i < 100; i++) {
+            Item item = testEntityManager.find(Item.class, itemIds.get(random.nextInt(itemIds.size())));
+            makeBooking(item, Status.APPROVED);
+            itemSearchIndex.addBooking(item.getId());
+        }
+        testEntityManager.flush();
+
+        assertSameResults();
+
+        for (int i = 0; i < 100; i++) {
+            ItemDto itemDto = new ItemDto();
+            itemDto.setId(itemIds.get(random.nextInt(itemIds.size())));
+            itemDto.setOwner(user.getId());
+            if (random.nextBoolean()) {
+                itemDto.setName(randomText(1, 12));
+            }
+            if (random.nextBoolean()) {
+                itemDto.setDescription(randomText(0, 24));
+            }
+            if (random.nextBoolean()) {
+                itemDto.setAvailable(random.nextBoolean());
+            }
+            indexItemService.updateItem(itemDto);
+        }
+        testEntityManager.flush();
+
+        assertSameResults();
+    }
+
+    @Test
+    void searchRanksNameMatchesAndPopularItemsFirstTest() {
+
+        long descriptionMatchId = addItem("Hammer", "Goes with a drill");
+        long quietDrillId = addItem("Drill", "Cordless");
+        long popularDrillId = addItem("Hammer drill", "Corded");
+
+        itemSearchIndex.addBooking(popularDrillId);
+        itemSearchIndex.addBooking(descriptionMatchId);
+        itemSearchIndex.addBooking(descriptionMatchId);
+
+        assertThat(itemSearchIndex.search("drill", 0, 10).stream().map(ItemDto::getId).collect(Collectors.toList()),
+                contains(popularDrillId, quietDrillId, descriptionMatchId));
+        assertThat(itemSearchIndex.search("drill", 1, 1).get(0).getId(), equalTo(quietDrillId));
+        assertThat(itemSearchIndex.search("drill", 3, 10), empty());
+    }
+
+    @Test
+    void searchIgnoresCaseAndAvailabilityTest() {
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Cordless DRILL");
+        itemDto.setDescription("Makita, 18V");
+        itemDto.setAvailable(true);
+        itemDto.setOwner(user.getId());
+        ItemDto savedItemDto = indexItemService.addItem(itemDto);
+
+        assertThat(itemSearchIndex.search("drill", 0, 10), contains(savedItemDto));
+        assertThat(itemSearchIndex.search("MAKITA", 0, 10), contains(savedItemDto));
+        assertThat(itemSearchIndex.search("dr", 0, 10), contains(savedItemDto));
+        assertThat(itemSearchIndex.search("drills", 0, 10), empty());
+
+        ItemDto unavailableDto = new ItemDto();
+        unavailableDto.setId(savedItemDto.getId());
+        unavailableDto.setOwner(user.getId());
+        unavailableDto.setAvailable(false);
+        indexItemService.updateItem(unavailableDto);
+
+        assertThat(itemSearchIndex.search("drill", 0, 10), empty());
+    }
+
+    @Test
+    void removeOwnerTest() {
+
+        User otherUser = new User();
+        otherUser.setName("Ivan");
+        otherUser.setEmail("Ivan@mail.ru");
+        testEntityManager.persist(otherUser);
+
+        long drillId = addItem("Drill", "Cordless");
+        ItemDto otherDrillDto = new ItemDto();
+        otherDrillDto.setName("Hammer drill");
+        otherDrillDto.setAvailable(true);
+        otherDrillDto.setOwner(otherUser.getId());
+        long otherDrillId = indexItemService.addItem(otherDrillDto).getId();
+        itemSearchIndex.addBooking(drillId);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.executeWithoutResult(status -> {
+            itemSearchIndex.removeOwner(user.getId());
+            assertThat(itemSearchIndex.search("drill", 0, 10).stream().map(ItemDto::getId)
+                    .collect(Collectors.toList()), contains(otherDrillId));
+            status.setRollbackOnly();
+        });
+
+        assertThat(itemSearchIndex.search("drill", 0, 10).stream().map(ItemDto::getId)
+                .collect(Collectors.toList()), contains(drillId, otherDrillId));
+
+        itemSearchIndex.removeOwner(user.getId());
+
+        assertThat(itemSearchIndex.search("drill", 0, 10).stream().map(ItemDto::getId)
+                .collect(Collectors.toList()), contains(otherDrillId));
+    }
+
+    private void assertSameResults() {
+
+        List<String> queries = new ArrayList<>(List.of("", "a", "%", "_", "\\", "ab", "abc", "a%b", "c_c"));
+        for (int i = 0; i < 300; i++) {
+            queries.add(randomText(1, 5));
+        }
+
+        for (String query : queries) {
+            for (int[] page : new int[][]{{0, 1000}, {0, 5}, {10, 10}}) {
+                List<ItemDto> expected = sqlItemService.searchItems(user.getId(), query, page[0], page[1]);
+                assertThat("query '" + query + "'", indexItemService.searchItems(user.getId(), query, page[0],
+                        page[1]), equalTo(expected));
+            }
+        }
+    }
+
+    private long addItem(String name, String description) {
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        itemDto.setDescription(description);
+        itemDto.setAvailable(true);
+        itemDto.setOwner(user.getId());
+
+        return indexItemService.addItem(itemDto).getId();
+    }
+
+    private void makeBooking(Item item, Status status) {
+
+        Booking booking = new Booking();
+        booking.setStart(LocalDateTime.now().plusDays(1));
+        booking.setEnd(LocalDateTime.now().plusDays(2));
+        booking.setItem(item);
+        booking.setBooker(user);
+        booking.setStatus(status);
+        testEntityManager.persist(booking);
+    }
+
+    private String randomText(int minLength, int maxLength) {
+
+        StringBuilder text = new StringBuilder();
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+
+        return text.toString();
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
@@ -131,7 +132,7 @@ public class ItemServiceIntegrationTests {
                 userId, null);
         itemService.addItem(itemDto);
 
-        List<ResponseItemDto> saveItemDtoList = itemService.getItems(userId);
+        List<ResponseItemDto> saveItemDtoList = itemService.getItems(userId, 0L, 10).getContent();
 
         assertThat(saveItemDtoList, hasItem(allOf(
                 hasProperty("id", notNullValue()),
@@ -146,6 +147,57 @@ public class ItemServiceIntegrationTests {
         )));
     }
 
+    @Test
+    public void getItemsPagesByIdTest() {
+
+        UserDto userDto = makeUserDto("Alex", "Alex@mail.ru");
+
+        User entity = UserMapper.toUser(userDto);
+        entityManager.persist(entity);
+        entityManager.flush();
+
+        TypedQuery<User> query = entityManager.createQuery("Select u from User u", User.class);
+        long userId = query.getSingleResult().getId();
+
+        long firstId = itemService.addItem(makeItemDto(null, "Item1", "Description", true, userId, null)).getId();
+        long secondId = itemService.addItem(makeItemDto(null, "Item2", "Description", true, userId, null)).getId();
+        long thirdId = itemService.addItem(makeItemDto(null, "Item3", "Description", true, userId, null)).getId();
+
+        Slice<ResponseItemDto> itemSlice = itemService.getItems(userId, 0L, 2);
+        assertThat(itemSlice.getContent(), contains(hasProperty("id", equalTo(firstId)),
+                hasProperty("id", equalTo(secondId))));
+        assertThat(itemSlice.hasNext(), equalTo(true));
+
+        itemSlice = itemService.getItems(userId, secondId, 2);
+        assertThat(itemSlice.getContent(), contains(hasProperty("id", equalTo(thirdId))));
+        assertThat(itemSlice.hasNext(), equalTo(false));
+
+        assertThat(itemService.getItems(userId, thirdId, 2).getContent(), empty());
+    }
+
+    @Test
+    public void getItemsWithoutSummaryTest() {
+
+        User entity = UserMapper.toUser(makeUserDto("Alex", "Alex@mail.ru"));
+        entityManager.persist(entity);
+        entityManager.flush();
+
+        long userId = entity.getId();
+
+        long firstId = itemService.addItem(makeItemDto(null, "Item1", "Description", true, userId, null)).getId();
+        long secondId = itemService.addItem(makeItemDto(null, "Item2", "Description", true, userId, null)).getId();
+
+        entityManager.flush();
+        entityManager.createNativeQuery("DELETE FROM item_summary WHERE item_id = ?1")
+                .setParameter(1, firstId)
+                .executeUpdate();
+        entityManager.clear();
+
+        assertThat(itemService.getItems(userId, 0L, 10).getContent(), contains(
+                allOf(hasProperty("id", equalTo(firstId)), hasProperty("name", equalTo("Item1"))),
+                allOf(hasProperty("id", equalTo(secondId)), hasProperty("name", equalTo("Item2")))));
+    }
+
     @Test
     public void searchItemsTest() {
 
@@ -162,7 +214,7 @@ public class ItemServiceIntegrationTests {
                 userId, null);
         itemService.addItem(itemDto);
 
-        List<ItemDto> saveItemDtoList = itemService.searchItems(userId, "ipt");
+        List<ItemDto> saveItemDtoList = itemService.searchItems(userId, "ipt", 0, 10);
 
         assertThat(saveItemDtoList, hasItem(allOf(
                 hasProperty("id", notNullValue()),
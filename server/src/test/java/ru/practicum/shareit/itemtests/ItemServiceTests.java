@@ -1,16 +1,23 @@
 package ru.practicum.shareit.itemtests;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.interfaces.BookingRepository;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.NearestBooking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.exception.DataBadRequestException;
 import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.item.ItemSearchCache;
+import ru.practicum.shareit.item.ItemSearchIndex;
 import ru.practicum.shareit.item.ItemServiceImpl;
+import ru.practicum.shareit.item.ItemSummaryUpdater;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ResponseCommentDto;
@@ -18,13 +25,17 @@ import ru.practicum.shareit.item.dto.ResponseItemDto;
 import ru.practicum.shareit.item.interfaces.CommentRepository;
 import ru.practicum.shareit.item.interfaces.ItemRepository;
 import ru.practicum.shareit.item.interfaces.ItemService;
+import ru.practicum.shareit.item.interfaces.ItemSummaryRepository;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
 import ru.practicum.shareit.request.interfaces.RequestRepository;
 import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.UserCache;
 import ru.practicum.shareit.user.interfaces.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +46,9 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,20 +65,30 @@ public class ItemServiceTests {
     private BookingRepository bookingRepository;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private ItemSummaryRepository itemSummaryRepository;
+    @Mock
+    private ItemSummaryUpdater itemSummaryUpdater;
 
     @BeforeEach
     public void setUp() {
 
-        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository,
-                commentRepository, requestRepository);
+        UserCache userCache = new UserCache(userRepository, 1000, new SimpleMeterRegistry());
+
+        itemService = new ItemServiceImpl(itemRepository, userCache, bookingRepository,
+                commentRepository, requestRepository, itemSearchIndex,
+                new ItemSearchCache(Duration.ofMinutes(1), 1000, new SimpleMeterRegistry()), itemSummaryRepository,
+                itemSummaryUpdater);
     }
 
     @Test
     public void addItemTest() {
 
-        when(userRepository.existsById(0L)).thenReturn(false);
+        when(userRepository.findById(0L)).thenReturn(Optional.empty());
         User user = makeUser(1L, "Alex", "Alex@mail.net");
-        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
 
         when(requestRepository.findById(0L)).thenReturn(Optional.empty());
         Request request = makeRequest(1L, "Description", LocalDateTime.now(), user);
@@ -100,14 +124,15 @@ public class ItemServiceTests {
         assertThat(saveItemDto.getAvailable(), equalTo(itemDto.getAvailable()));
         assertThat(saveItemDto.getOwner(), equalTo(itemDto.getOwner()));
         assertThat(saveItemDto.getRequestId(), equalTo(null));
+        verify(itemSummaryUpdater, times(2)).refresh(itemDto.getId());
     }
 
     @Test
     public void updateItemTest() {
 
-        when(userRepository.existsById(0L)).thenReturn(false);
+        when(userRepository.findById(0L)).thenReturn(Optional.empty());
         User user = makeUser(1L, "Alex", "Alex@mail.net");
-        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
 
         when(itemRepository.findById(0L)).thenReturn(Optional.empty());
 
@@ -137,16 +162,17 @@ public class ItemServiceTests {
         assertThat(savaItemDto.getAvailable(), equalTo(itemDto.getAvailable()));
         assertThat(savaItemDto.getOwner(), equalTo(itemDto.getOwner()));
         assertThat(savaItemDto.getRequestId(), equalTo(item.getRequest().getId()));
+        verify(itemSummaryUpdater).refresh(item.getId());
     }
 
     @Test
     public void getItemTest() {
 
-        when(userRepository.existsById(0L)).thenReturn(false);
+        when(userRepository.findById(0L)).thenReturn(Optional.empty());
         User user1 = makeUser(1L, "Alex", "Alex@mail.net");
         User user2 = makeUser(2L, "Ivan", "Ivan@mail.net");
-        when(userRepository.existsById(user1.getId())).thenReturn(true);
-        when(userRepository.existsById(user2.getId())).thenReturn(true);
+        when(userRepository.findById(user1.getId())).thenReturn(Optional.of(user1));
+        when(userRepository.findById(user2.getId())).thenReturn(Optional.of(user2));
 
         when(itemRepository.findById(0L)).thenReturn(Optional.empty());
 
@@ -157,18 +183,16 @@ public class ItemServiceTests {
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
 
         LocalDateTime dateTime = LocalDateTime.now();
-        Booking lastBooking = makeBooking(1L, dateTime.minusDays(10), dateTime.minusDays(5),
-                item, user1, Status.APPROVED);
-        Booking nextBooking = makeBooking(2L, dateTime.plusDays(1), dateTime.plusDays(4),
-                item, user1, Status.APPROVED);
-        when(bookingRepository.findLastBookingItem(anyLong(), anyString())).thenReturn(lastBooking);
-        when(bookingRepository.findNextBookingItem(anyLong(), anyString())).thenReturn(nextBooking);
+        when(bookingRepository.findNearestBookingsByItemIds(eq(List.of(item.getId())), any(),
+                eq(Status.APPROVED.toString())))
+                .thenReturn(List.of(makeNearestBooking(1L, item.getId(), user1.getId(), true),
+                        makeNearestBooking(2L, item.getId(), user1.getId(), false)));
 
         List<Comment> comments = List.of(
                 makeComment(1L, "Comment1", item, user1, dateTime),
                 makeComment(2L, "Comment2", item, user1, dateTime)
         );
-        when(commentRepository.findByItemId(anyLong())).thenReturn(comments);
+        when(commentRepository.findByItemsId(List.of(item.getId()))).thenReturn(comments);
 
         assertThrows(DataNotFoundException.class, () -> itemService.getItem(0L, item.getId()));
         assertThrows(DataNotFoundException.class, () -> itemService.getItem(user1.getId(), 0L));
@@ -188,86 +212,113 @@ public class ItemServiceTests {
         assertThat(responseItemDto.getComments().get(1), notNullValue());
         assertThat(responseItemDto.getComments().get(1).getId(), equalTo(comments.get(1).getId()));
         assertThat(responseItemDto.getLastBooking(), notNullValue());
-        assertThat(responseItemDto.getLastBooking(), notNullValue());
+        assertThat(responseItemDto.getNextBooking(), notNullValue());
 
         responseItemDto = itemService.getItem(user2.getId(), item.getId());
         assertThat(responseItemDto.getLastBooking(), nullValue());
-        assertThat(responseItemDto.getLastBooking(), nullValue());
+        assertThat(responseItemDto.getNextBooking(), nullValue());
     }
 
     @Test
-    public void getItemsTest() {
+    public void getItemFromSummaryTest() {
 
-        when(userRepository.existsById(0L)).thenReturn(false);
-        User user = makeUser(1L, "Alex", "Alex@mail.net");
-        when(userRepository.existsById(user.getId())).thenReturn(true);
-        when(userRepository.existsById(2L)).thenReturn(true);
-
-        when(itemRepository.findByOwnerIdOrderById(2L)).thenReturn(new ArrayList<>());
-
-        List<Item> items = List.of(
-                makeItem(1L, "Name1", "Ho4u sleeeep!",
-                        true, user.getId(), null),
-                makeItem(2L, "Name2", "I want kill JAVA!!!",
-                true, user.getId(), null)
-        );
-        when(itemRepository.findByOwnerIdOrderById(user.getId())).thenReturn(items);
+        User owner = makeUser(1L, "Alex", "Alex@mail.net");
+        User user = makeUser(2L, "Ivan", "Ivan@mail.net");
+        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
 
         LocalDateTime dateTime = LocalDateTime.now();
-        List<Booking> bookings = List.of(
-                makeBooking(1L, dateTime.minusDays(10), dateTime.minusDays(5),
-                        items.get(0), user, Status.APPROVED),
-                makeBooking(2L, dateTime.plusDays(1), dateTime.plusDays(4),
-                        items.get(0), user, Status.APPROVED),
-                makeBooking(3L, dateTime.minusDays(45), dateTime.minusDays(35),
-                        items.get(1), user, Status.APPROVED),
-                makeBooking(4L, dateTime.plusDays(5), dateTime.plusDays(10),
-                        items.get(1), user, Status.APPROVED)
-        );
+        ItemSummary summary = makeItemSummary(1L, "Name", "Ho4u sleeeep!", owner.getId(),
+                1L, 2L, dateTime.plusDays(1));
+        when(itemSummaryRepository.findById(summary.getItemId())).thenReturn(Optional.of(summary));
+
+        ResponseCommentDto comment = new ResponseCommentDto();
+        comment.setId(1L);
+        comment.setText("Comment");
+        comment.setAuthorName(user.getName());
+        comment.setCreated(dateTime);
+        when(itemSummaryUpdater.readComments(summary)).thenReturn(List.of(comment));
+
+        ResponseItemDto responseItemDto = itemService.getItem(owner.getId(), summary.getItemId());
+        assertThat(responseItemDto.getId(), equalTo(summary.getItemId()));
+        assertThat(responseItemDto.getName(), equalTo(summary.getName()));
+        assertThat(responseItemDto.getDescription(), equalTo(summary.getDescription()));
+        assertThat(responseItemDto.getAvailable(), equalTo(summary.getAvailable()));
+        assertThat(responseItemDto.getOwner(), equalTo(summary.getOwnerId()));
+        assertThat(responseItemDto.getRequest(), nullValue());
+        assertThat(responseItemDto.getLastBooking(), notNullValue());
+        assertThat(responseItemDto.getNextBooking(), notNullValue());
+        assertThat(responseItemDto.getComments(), contains(comment));
 
-        List<Long> itemsIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        responseItemDto = itemService.getItem(user.getId(), summary.getItemId());
+        assertThat(responseItemDto.getLastBooking(), nullValue());
+        assertThat(responseItemDto.getNextBooking(), nullValue());
+        assertThat(responseItemDto.getComments(), contains(comment));
 
-        when(bookingRepository.findByItemIdAndStatusOrderByStart(itemsIds, Status.APPROVED)).thenReturn(bookings);
+        verify(itemRepository, never()).findById(anyLong());
+        verify(bookingRepository, never()).findNearestBookingsByItemIds(anyList(), any(), anyString());
+    }
 
-        List<Comment> comments = List.of(
-                makeComment(1L, "CommentItem1", items.get(0), user, dateTime),
-                makeComment(2L, "CommentItem2", items.get(1), user, dateTime)
-        );
-        when(commentRepository.findByItemsId(anyList())).thenReturn(comments);
+    @Test
+    public void getItemsTest() {
 
-        assertThrows(DataNotFoundException.class, () -> itemService.getItems(0L));
+        when(userRepository.findById(0L)).thenReturn(Optional.empty());
+        User user = makeUser(1L, "Alex", "Alex@mail.net");
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(makeUser(2L, "Ivan", "Ivan@mail.net")));
 
-        List<ResponseItemDto> responseItemDtoList = itemService.getItems(user.getId());
-        assertThat(responseItemDtoList, notNullValue());
-        assertThat(responseItemDtoList, hasSize(2));
-        assertThat(responseItemDtoList.get(0), notNullValue());
-        assertThat(responseItemDtoList.get(0).getId(), equalTo(items.get(0).getId()));
-        assertThat(responseItemDtoList.get(0).getName(), equalTo(items.get(0).getName()));
-        assertThat(responseItemDtoList.get(0).getDescription(), equalTo(items.get(0).getDescription()));
-        assertThat(responseItemDtoList.get(0).getAvailable(), equalTo(items.get(0).getAvailable()));
-        assertThat(responseItemDtoList.get(0).getOwner(), equalTo(items.get(0).getOwnerId()));
-        assertThat(responseItemDtoList.get(0).getRequest(), equalTo(items.get(0).getRequest()));
+        when(itemRepository.findIdsByOwnerIdAndIdGreaterThan(2L, 0L, PageRequest.of(0, 10)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
+
+        LocalDateTime dateTime = LocalDateTime.now();
+        List<ItemSummary> summaries = List.of(
+                makeItemSummary(1L, "Name1", "Ho4u sleeeep!", user.getId(),
+                        1L, 2L, dateTime.plusDays(1)),
+                makeItemSummary(2L, "Name2", "I want kill JAVA!!!", user.getId(),
+                        3L, 4L, dateTime.minusMinutes(1))
+        );
+        Item unsummarizedItem = makeItem(3L, "Name3", "No summary yet", true, user.getId(), null);
+        when(itemRepository.findIdsByOwnerIdAndIdGreaterThan(user.getId(), 0L, PageRequest.of(0, 10)))
+                .thenReturn(new SliceImpl<>(List.of(1L, 2L, 3L), PageRequest.of(0, 10), true));
+        when(itemSummaryRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(summaries);
+        when(itemRepository.findAllById(List.of(3L))).thenReturn(List.of(unsummarizedItem));
+        when(bookingRepository.findNearestBookingsByItemIds(eq(List.of(3L)), any(), eq(Status.APPROVED.toString())))
+                .thenReturn(List.of(makeNearestBooking(5L, 3L, 2L, true)));
+        when(commentRepository.findByItemsId(List.of(3L)))
+                .thenReturn(List.of(makeComment(1L, "Comment", unsummarizedItem, user, dateTime)));
+
+        when(bookingRepository.findNearestBookingsByItemIds(eq(List.of(2L)), any(), eq(Status.APPROVED.toString())))
+                .thenReturn(List.of(makeNearestBooking(4L, 2L, 2L, true)));
+
+        when(itemSummaryUpdater.readComments(any())).thenReturn(List.of());
+
+        assertThrows(DataNotFoundException.class, () -> itemService.getItems(0L, 0L, 10));
+        assertThrows(DataBadRequestException.class, () -> itemService.getItems(user.getId(), -1L, 10));
+        assertThrows(DataBadRequestException.class, () -> itemService.getItems(user.getId(), 0L, 0));
+
+        Slice<ResponseItemDto> responseItemDtoSlice = itemService.getItems(user.getId(), 0L, 10);
+        assertThat(responseItemDtoSlice.hasNext(), equalTo(true));
+
+        List<ResponseItemDto> responseItemDtoList = responseItemDtoSlice.getContent();
+        assertThat(responseItemDtoList, hasSize(3));
+        assertThat(responseItemDtoList.get(0).getId(), equalTo(summaries.get(0).getItemId()));
+        assertThat(responseItemDtoList.get(0).getName(), equalTo(summaries.get(0).getName()));
+        assertThat(responseItemDtoList.get(0).getDescription(), equalTo(summaries.get(0).getDescription()));
+        assertThat(responseItemDtoList.get(0).getAvailable(), equalTo(summaries.get(0).getAvailable()));
+        assertThat(responseItemDtoList.get(0).getOwner(), equalTo(summaries.get(0).getOwnerId()));
         assertThat(responseItemDtoList.get(0).getLastBooking(), notNullValue());
         assertThat(responseItemDtoList.get(0).getNextBooking(), notNullValue());
-        assertThat(responseItemDtoList.get(0).getComments(), notNullValue());
-        assertThat(responseItemDtoList.get(0).getComments(), hasSize(1));
-        assertThat(responseItemDtoList.get(0).getComments().get(0), notNullValue());
-        assertThat(responseItemDtoList.get(0).getComments().get(0).getId(), equalTo(comments.get(0).getId()));
-        assertThat(responseItemDtoList.get(1), notNullValue());
-        assertThat(responseItemDtoList.get(1).getId(), equalTo(items.get(1).getId()));
-        assertThat(responseItemDtoList.get(1).getName(), equalTo(items.get(1).getName()));
-        assertThat(responseItemDtoList.get(1).getDescription(), equalTo(items.get(1).getDescription()));
-        assertThat(responseItemDtoList.get(1).getAvailable(), equalTo(items.get(1).getAvailable()));
-        assertThat(responseItemDtoList.get(1).getOwner(), equalTo(items.get(1).getOwnerId()));
-        assertThat(responseItemDtoList.get(1).getRequest(), equalTo(items.get(1).getRequest()));
+        assertThat(responseItemDtoList.get(0).getComments(), empty());
+        assertThat(responseItemDtoList.get(1).getId(), equalTo(summaries.get(1).getItemId()));
         assertThat(responseItemDtoList.get(1).getLastBooking(), notNullValue());
-        assertThat(responseItemDtoList.get(1).getNextBooking(), notNullValue());
-        assertThat(responseItemDtoList.get(1).getComments(), notNullValue());
-        assertThat(responseItemDtoList.get(1).getComments(), hasSize(1));
-        assertThat(responseItemDtoList.get(1).getComments().get(0), notNullValue());
-        assertThat(responseItemDtoList.get(1).getComments().get(0).getId(), equalTo(comments.get(1).getId()));
-
-        responseItemDtoList = itemService.getItems(2L);
+        assertThat(responseItemDtoList.get(1).getNextBooking(), nullValue());
+        assertThat(summaries.get(1).getNextBookingId(), equalTo(4L));
+        assertThat(responseItemDtoList.get(2).getId(), equalTo(unsummarizedItem.getId()));
+        assertThat(responseItemDtoList.get(2).getName(), equalTo(unsummarizedItem.getName()));
+        assertThat(responseItemDtoList.get(2).getLastBooking(), notNullValue());
+        assertThat(responseItemDtoList.get(2).getComments(), hasSize(1));
+
+        responseItemDtoList = itemService.getItems(2L, 0L, 10).getContent();
         assertThat(responseItemDtoList, notNullValue());
         assertThat(responseItemDtoList, empty());
     }
@@ -275,33 +326,43 @@ public class ItemServiceTests {
     @Test
     public void searchItemsTest() {
 
-        when(userRepository.existsById(0L)).thenReturn(false);
+        when(userRepository.findById(0L)).thenReturn(Optional.empty());
         User user = makeUser(1L, "Alex", "Alex@mail.net");
-        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
 
-        when(itemRepository.findByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue("0", "0"))
-                .thenReturn(new ArrayList<>());
-        Item item = makeItem(1L, "Name", "Ho4u sleeeep!",
-                true, user.getId(), null);
-        when(itemRepository.findByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue("a", "a"))
-                .thenReturn(List.of(item));
+        when(itemRepository.searchAvailable("%0%", Status.APPROVED, PageRequest.of(0, 10)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
+        ItemDto itemDto = new ItemDto(1L, "Name", "Ho4u sleeeep!", true, user.getId(), null);
+        when(itemRepository.searchAvailable("%a%", Status.APPROVED, PageRequest.of(2, 10)))
+                .thenReturn(new SliceImpl<>(List.of(itemDto)));
 
-        assertThrows(DataNotFoundException.class, () -> itemService.searchItems(0L, "a"));
+        assertThrows(DataNotFoundException.class, () -> itemService.searchItems(0L, "a", 0, 10));
+        assertThrows(DataBadRequestException.class, () -> itemService.searchItems(user.getId(), "a", -1, 10));
+        assertThrows(DataBadRequestException.class, () -> itemService.searchItems(user.getId(), "a", 0, 0));
 
-        List<ItemDto> itemDtoList = itemService.searchItems(user.getId(), "a");
+        List<ItemDto> itemDtoList = itemService.searchItems(user.getId(), "a", 25, 10);
         assertThat(itemDtoList, notNullValue());
-        assertThat(itemDtoList, hasSize(1));
-        assertThat(itemDtoList.get(0), notNullValue());
-        assertThat(itemDtoList.get(0).getId(), equalTo(item.getId()));
-        assertThat(itemDtoList.get(0).getName(), equalTo(item.getName()));
-        assertThat(itemDtoList.get(0).getDescription(), equalTo(item.getDescription()));
-        assertThat(itemDtoList.get(0).getAvailable(), equalTo(item.getAvailable()));
-        assertThat(itemDtoList.get(0).getOwner(), equalTo(item.getOwnerId()));
-        assertThat(itemDtoList.get(0).getRequestId(), equalTo(item.getRequest()));
-
-        itemDtoList = itemService.searchItems(user.getId(), "0");
+        assertThat(itemDtoList, contains(itemDto));
+
+        itemDtoList = itemService.searchItems(user.getId(), "0", 0, 10);
         assertThat(itemDtoList, notNullValue());
         assertThat(itemDtoList, empty());
+
+        when(itemRepository.searchAvailable("%50\\%\\_%", Status.APPROVED, PageRequest.of(0, 10)))
+                .thenReturn(new SliceImpl<>(List.of(itemDto)));
+        assertThat(itemService.searchItems(user.getId(), "50%_", 0, 10), hasSize(1));
+    }
+
+    @Test
+    public void searchItemsWithIndexTest() {
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(makeUser(1L, "Ivan", "Ivan@mail.net")));
+        when(itemSearchIndex.isEnabled()).thenReturn(true);
+        ItemDto itemDto = new ItemDto(1L, "Name", "Description", true, 1L, null);
+        when(itemSearchIndex.search("desc", 20, 10)).thenReturn(List.of(itemDto));
+
+        assertThat(itemService.searchItems(1L, "desc", 25, 10), contains(itemDto));
+        verify(itemRepository, never()).searchAvailable(anyString(), any(), any());
     }
 
     @Test
@@ -340,6 +401,7 @@ public class ItemServiceTests {
         assertThat(responseCommentDto.getText(), equalTo(createCommentDto.getText()));
         assertThat(responseCommentDto.getAuthorName(), equalTo(user.getName()));
         assertThat(responseCommentDto.getCreated(), notNullValue());
+        verify(itemSummaryUpdater).refresh(item.getId());
     }
 
     @Test
@@ -420,18 +482,53 @@ public class ItemServiceTests {
         return item;
     }
 
-    private Booking makeBooking(Long id, LocalDateTime start, LocalDateTime end,
-                                Item item, User booker, Status status) {
-
-        Booking booking = new Booking();
-        booking.setId(id);
-        booking.setStart(start);
-        booking.setEnd(end);
-        booking.setItem(item);
-        booking.setBooker(booker);
-        booking.setStatus(status);
+    private NearestBooking makeNearestBooking(Long id, Long itemId, Long bookerId, Boolean past) {
+
+        return new NearestBooking() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return bookerId;
+            }
+
+            @Override
+            public LocalDateTime getStartDate() {
+                return null;
+            }
+
+            @Override
+            public Boolean getPast() {
+                return past;
+            }
+        };
+    }
 
-        return booking;
+    private ItemSummary makeItemSummary(Long itemId, String name, String description, Long ownerId,
+                                        Long lastBookingId, Long nextBookingId, LocalDateTime refreshAt) {
+
+        ItemSummary summary = new ItemSummary();
+        summary.setItemId(itemId);
+        summary.setName(name);
+        summary.setDescription(description);
+        summary.setAvailable(true);
+        summary.setOwnerId(ownerId);
+        summary.setLastBookingId(lastBookingId);
+        summary.setLastBookerId(ownerId + 1);
+        summary.setNextBookingId(nextBookingId);
+        summary.setNextBookerId(ownerId + 1);
+        summary.setRefreshAt(refreshAt);
+        summary.setComments("[]");
+
+        return summary;
     }
 
     private Comment makeComment(Long id, String text, Item item, User author, LocalDateTime created) {
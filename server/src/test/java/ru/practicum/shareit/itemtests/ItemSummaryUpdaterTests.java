@@ -0,0 +1,343 @@
+package ru.practicum.shareit.itemtests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
+import ru.practicum.shareit.booking.model.NearestBooking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.item.ItemSummaryUpdater;
+import ru.practicum.shareit.item.dto.ResponseCommentDto;
+import ru.practicum.shareit.item.interfaces.CommentRepository;
+import ru.practicum.shareit.item.interfaces.ItemRepository;
+import ru.practicum.shareit.item.interfaces.ItemSummaryRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
+import ru.practicum.shareit.item.model.ItemSummaryDrift;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemSummaryUpdaterTests {
+
+    private ItemSummaryUpdater itemSummaryUpdater;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemSummaryRepository itemSummaryRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private CommentRepository commentRepository;
+
+    @BeforeEach
+    public void setUp() {
+
+        itemSummaryUpdater = new ItemSummaryUpdater(itemRepository, itemSummaryRepository, bookingRepository,
+                commentRepository, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    public void refreshTest() {
+
+        User user = makeUser(2L, "Ivan", "Ivan@mail.net");
+        Item item = makeItem(1L, "Name", "Ho4u sleeeep!", true, 1L);
+        LocalDateTime dateTime = LocalDateTime.now().withNano(0);
+
+        when(itemRepository.findByIdForUpdate(0L)).thenReturn(Optional.empty());
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.findNearestBookingsByItemIds(eq(List.of(item.getId())), any(),
+                eq(Status.APPROVED.toString())))
+                .thenReturn(List.of(makeNearestBooking(1L, item.getId(), user.getId(), dateTime.minusDays(1), true),
+                        makeNearestBooking(2L, item.getId(), user.getId(), dateTime.plusDays(1), false)));
+        when(commentRepository.findByItemsId(List.of(item.getId())))
+                .thenReturn(List.of(makeComment(2L, "Second", item, user, dateTime),
+                        makeComment(1L, "First", item, user, dateTime.minusHours(1))));
+
+        assertThrows(DataNotFoundException.class, () -> itemSummaryUpdater.refresh(0L));
+
+        itemSummaryUpdater.refresh(item.getId());
+
+        ArgumentCaptor<List<ItemSummary>> captor = ArgumentCaptor.forClass(List.class);
+        verify(itemSummaryRepository).saveAll(captor.capture());
+        assertThat(captor.getValue(), hasSize(1));
+
+        ItemSummary summary = captor.getValue().get(0);
+        assertThat(summary.getItemId(), equalTo(item.getId()));
+        assertThat(summary.getOwnerId(), equalTo(item.getOwnerId()));
+        assertThat(summary.getName(), equalTo(item.getName()));
+        assertThat(summary.getDescription(), equalTo(item.getDescription()));
+        assertThat(summary.getAvailable(), equalTo(item.getAvailable()));
+        assertThat(summary.getRequestId(), nullValue());
+        assertThat(summary.getLastBookingId(), equalTo(1L));
+        assertThat(summary.getLastBookerId(), equalTo(user.getId()));
+        assertThat(summary.getNextBookingId(), equalTo(2L));
+        assertThat(summary.getNextBookerId(), equalTo(user.getId()));
+        assertThat(summary.getRefreshAt(), equalTo(dateTime.plusDays(1)));
+
+        List<ResponseCommentDto> comments = itemSummaryUpdater.readComments(summary);
+        assertThat(comments, hasSize(2));
+        assertThat(comments.get(0).getId(), equalTo(1L));
+        assertThat(comments.get(0).getText(), equalTo("First"));
+        assertThat(comments.get(0).getAuthorName(), equalTo(user.getName()));
+        assertThat(comments.get(0).getCreated(), equalTo(dateTime.minusHours(1)));
+        assertThat(comments.get(1).getId(), equalTo(2L));
+    }
+
+    @Test
+    public void refreshUnchangedTest() {
+
+        Item item = makeItem(1L, "Name", "Ho4u sleeeep!", true, 1L);
+
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.findNearestBookingsByItemIds(anyList(), any(), anyString())).thenReturn(List.of());
+        when(commentRepository.findByItemsId(anyList())).thenReturn(List.of());
+
+        ItemSummary summary = makeItemSummary(item);
+        when(itemSummaryRepository.findAllById(List.of(item.getId()))).thenReturn(List.of(summary));
+
+        itemSummaryUpdater.refresh(item.getId());
+
+        verify(itemSummaryRepository).saveAll(List.of());
+    }
+
+    @Test
+    public void refreshDueTest() {
+
+        LocalDateTime dateTime = LocalDateTime.now();
+        Item item = makeItem(1L, "Name", "Ho4u sleeeep!", true, 1L);
+        ItemSummary summary = makeItemSummary(item);
+        summary.setNextBookingId(2L);
+        summary.setNextBookerId(2L);
+        summary.setRefreshAt(dateTime.minusMinutes(1));
+
+        when(itemSummaryRepository.findByRefreshAtLessThanEqualOrderByRefreshAt(dateTime, PageRequest.of(0, 10)))
+                .thenReturn(List.of(summary));
+        when(itemRepository.findByIdsForUpdate(List.of(item.getId()))).thenReturn(List.of(item));
+        when(bookingRepository.findNearestBookingsByItemIds(List.of(item.getId()), dateTime,
+                Status.APPROVED.toString()))
+                .thenReturn(List.of(makeNearestBooking(2L, item.getId(), 2L, dateTime.minusMinutes(1), true)));
+        when(commentRepository.findByItemsId(anyList())).thenReturn(List.of());
+        when(itemSummaryRepository.findAllById(List.of(item.getId()))).thenReturn(List.of(summary));
+
+        assertThat(itemSummaryUpdater.refreshDue(dateTime, 10), equalTo(1));
+
+        ArgumentCaptor<List<ItemSummary>> captor = ArgumentCaptor.forClass(List.class);
+        verify(itemSummaryRepository).saveAll(captor.capture());
+        assertThat(captor.getValue(), hasSize(1));
+        assertThat(captor.getValue().get(0).getLastBookingId(), equalTo(2L));
+        assertThat(captor.getValue().get(0).getNextBookingId(), nullValue());
+        assertThat(captor.getValue().get(0).getRefreshAt(), nullValue());
+
+        when(itemSummaryRepository.findByRefreshAtLessThanEqualOrderByRefreshAt(dateTime, PageRequest.of(0, 5)))
+                .thenReturn(List.of());
+
+        assertThat(itemSummaryUpdater.refreshDue(dateTime, 5), equalTo(0));
+    }
+
+    @Test
+    public void findDriftAndRefreshTest() {
+
+        List<Item> items = List.of(makeItem(1L, "Name1", "Description", true, 1L),
+                makeItem(2L, "Name2", "Description", true, 1L));
+
+        when(itemRepository.findByIdGreaterThanOrderById(0L, PageRequest.of(0, 2)))
+                .thenReturn(new SliceImpl<>(items, PageRequest.of(0, 2), true));
+        when(itemRepository.findByIdGreaterThanOrderById(2L, PageRequest.of(0, 2)))
+                .thenReturn(new SliceImpl<>(List.of()));
+        when(bookingRepository.findNearestBookingsByItemIds(anyList(), any(), anyString())).thenReturn(List.of());
+        when(commentRepository.findByItemsId(anyList())).thenReturn(List.of());
+        when(itemSummaryRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(makeItemSummary(items.get(0))));
+
+        ItemSummaryDrift drift = itemSummaryUpdater.findDrift(0L, 2);
+        assertThat(drift.getItemsId(), contains(2L));
+        assertThat(drift.getNext(), equalTo(2L));
+
+        drift = itemSummaryUpdater.findDrift(2L, 2);
+        assertThat(drift.getItemsId(), empty());
+        assertThat(drift.getNext(), equalTo(0L));
+
+        verify(itemRepository, never()).findByIdsForUpdate(anyList());
+        verify(itemSummaryRepository, never()).saveAll(anyList());
+
+        when(itemRepository.findByIdsForUpdate(List.of(2L))).thenReturn(List.of(items.get(1)));
+        when(itemSummaryRepository.findAllById(List.of(2L))).thenReturn(List.of());
+
+        assertThat(itemSummaryUpdater.refresh(List.of(2L)), equalTo(1));
+        assertThat(itemSummaryUpdater.refresh(List.of()), equalTo(0));
+
+        ArgumentCaptor<List<ItemSummary>> captor = ArgumentCaptor.forClass(List.class);
+        verify(itemSummaryRepository).saveAll(captor.capture());
+        assertThat(captor.getValue(), hasSize(1));
+        assertThat(captor.getValue().get(0).getItemId(), equalTo(2L));
+    }
+
+    @Test
+    public void refreshQueriesOncePerBatchTest() {
+
+        User user = makeUser(2L, "Ivan", "Ivan@mail.net");
+        int itemCount = 10_000;
+        LocalDateTime dateTime = LocalDateTime.now();
+
+        List<Item> items = new ArrayList<>();
+        List<NearestBooking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (long id = 1; id <= itemCount; id++) {
+            items.add(makeItem(id, "Name" + id, "Description", true, 1L));
+            bookings.add(makeNearestBooking(2 * id, id, user.getId(), dateTime.minusDays(1), true));
+            bookings.add(makeNearestBooking(2 * id + 1, id, user.getId(), dateTime.plusDays(1), false));
+        }
+        for (long id = 1; id <= 10L * itemCount; id++) {
+            comments.add(makeComment(id, "Text", items.get((int) (id % itemCount)), user, dateTime));
+        }
+
+        List<Long> itemsId = items.stream().map(Item::getId).collect(Collectors.toList());
+        when(itemRepository.findByIdsForUpdate(itemsId)).thenReturn(items);
+        when(bookingRepository.findNearestBookingsByItemIds(anyList(), any(), anyString())).thenReturn(bookings);
+        when(commentRepository.findByItemsId(anyList())).thenReturn(comments);
+
+        assertThat(itemSummaryUpdater.refresh(itemsId), equalTo(itemCount));
+
+        verify(bookingRepository).findNearestBookingsByItemIds(anyList(), any(), anyString());
+        verify(commentRepository).findByItemsId(anyList());
+        verify(itemSummaryRepository).findAllById(anyIterable());
+
+        ArgumentCaptor<List<ItemSummary>> captor = ArgumentCaptor.forClass(List.class);
+        verify(itemSummaryRepository).saveAll(captor.capture());
+        assertThat(captor.getValue(), hasSize(itemCount));
+
+        for (ItemSummary summary : captor.getValue()) {
+            assertThat(itemSummaryUpdater.readComments(summary), hasSize(10));
+            assertThat(summary.getLastBookingId(), equalTo(2 * summary.getItemId()));
+            assertThat(summary.getNextBookingId(), equalTo(2 * summary.getItemId() + 1));
+        }
+    }
+
+    @Test
+    public void withBookingsTest() {
+
+        LocalDateTime dateTime = LocalDateTime.now();
+        Item item = makeItem(1L, "Name", "Ho4u sleeeep!", true, 1L);
+        ItemSummary summary = makeItemSummary(item);
+        summary.setNextBookingId(2L);
+        summary.setNextBookerId(2L);
+        summary.setRefreshAt(dateTime.minusMinutes(1));
+
+        assertThat(ItemSummaryUpdater.isStale(summary, dateTime), equalTo(true));
+        assertThat(ItemSummaryUpdater.isStale(summary, dateTime.minusHours(1)), equalTo(false));
+        assertThat(ItemSummaryUpdater.isStale(makeItemSummary(item), dateTime), equalTo(false));
+
+        ItemSummary updated = ItemSummaryUpdater.withBookings(summary,
+                List.of(makeNearestBooking(2L, item.getId(), 2L, dateTime.minusMinutes(1), true),
+                        makeNearestBooking(3L, item.getId(), 3L, dateTime.plusDays(1), false)));
+
+        assertThat(updated.getItemId(), equalTo(summary.getItemId()));
+        assertThat(updated.getName(), equalTo(summary.getName()));
+        assertThat(updated.getComments(), equalTo(summary.getComments()));
+        assertThat(updated.getLastBookingId(), equalTo(2L));
+        assertThat(updated.getNextBookingId(), equalTo(3L));
+        assertThat(updated.getNextBookerId(), equalTo(3L));
+        assertThat(updated.getRefreshAt(), equalTo(dateTime.plusDays(1)));
+        assertThat(summary.getLastBookingId(), nullValue());
+        assertThat(summary.getNextBookingId(), equalTo(2L));
+    }
+
+    private User makeUser(Long id, String name, String email) {
+
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setName(name);
+
+        return user;
+    }
+
+    private Item makeItem(Long id, String name, String description, Boolean available, Long ownerId) {
+
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwnerId(ownerId);
+
+        return item;
+    }
+
+    private ItemSummary makeItemSummary(Item item) {
+
+        ItemSummary summary = new ItemSummary();
+        summary.setItemId(item.getId());
+        summary.setOwnerId(item.getOwnerId());
+        summary.setName(item.getName());
+        summary.setDescription(item.getDescription());
+        summary.setAvailable(item.getAvailable());
+        summary.setComments("[]");
+
+        return summary;
+    }
+
+    private Comment makeComment(Long id, String text, Item item, User author, LocalDateTime created) {
+
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setText(text);
+        comment.setItem(item);
+        comment.setAuthor(author);
+        comment.setCreated(created);
+
+        return comment;
+    }
+
+    private NearestBooking makeNearestBooking(Long id, Long itemId, Long bookerId, LocalDateTime startDate,
+                                              Boolean past) {
+
+        return new NearestBooking() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return bookerId;
+            }
+
+            @Override
+            public LocalDateTime getStartDate() {
+                return startDate;
+            }
+
+            @Override
+            public Boolean getPast() {
+                return past;
+            }
+        };
+    }
+}
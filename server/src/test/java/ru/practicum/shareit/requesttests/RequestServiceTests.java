@@ -1,11 +1,12 @@
 package ru.practicum.shareit.requesttests;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.exception.DataNotFoundException;
 import ru.practicum.shareit.item.interfaces.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
@@ -15,6 +16,7 @@ import ru.practicum.shareit.request.dto.ResponseRequestDto;
 import ru.practicum.shareit.request.interfaces.RequestRepository;
 import ru.practicum.shareit.request.interfaces.RequestService;
 import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.UserCache;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.interfaces.UserRepository;
 import ru.practicum.shareit.user.model.User;
@@ -43,7 +45,9 @@ public class RequestServiceTests {
     @BeforeEach
     public void setUp() {
 
-        requestService = new RequestServiceImpl(requestRepository, itemRepository, userRepository);
+        UserCache userCache = new UserCache(userRepository, 1000, new SimpleMeterRegistry());
+
+        requestService = new RequestServiceImpl(requestRepository, itemRepository, userCache);
     }
 
     @Test
@@ -178,7 +182,7 @@ public class RequestServiceTests {
         when(requestRepository.findByOtherRequestorId(anyLong(), any())).thenAnswer(invocationOnMock -> {
             Long id = invocationOnMock.getArgument(0, Long.class);
 
-            return new PageImpl<>(requests.stream()
+            return new SliceImpl<>(requests.stream()
                     .filter(request -> request.getRequestor().getId() != id)
                     .collect(Collectors.toList()));
         });
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.usertests;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.user.UserCache;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserCacheTests {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+        userCache = new UserCache(userRepository, 1000, meterRegistry);
+    }
+
+    @Test
+    void getCachesExistingUsersTest() {
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(makeUser(1L, "Alex")));
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThat(userCache.get(1L).getName(), equalTo("Alex"));
+        assertThat(userCache.exists(1L), equalTo(true));
+        assertThat(userCache.find(1L).isPresent(), equalTo(true));
+        verify(userRepository).findById(1L);
+
+        assertThat(userCache.exists(2L), equalTo(false));
+        assertThrows(DataNotFoundException.class, () -> userCache.get(2L));
+        verify(userRepository, times(2)).findById(2L);
+
+        assertThat(userCache.size(), equalTo(1L));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count(), equalTo(2.0));
+        assertThat(meterRegistry.get("shareit.user-cache.hit.ratio").gauge().value(), closeTo(0.4, 0.001));
+        assertThat(meterRegistry.get("shareit.user-cache.saved.time").gauge().value(), greaterThanOrEqualTo(0.0));
+    }
+
+    @Test
+    void getReturnsCopyTest() {
+
+        User user = makeUser(1L, "Alex");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        User cached = userCache.get(1L);
+        user.setName("Ivan");
+
+        assertThat(cached, not(sameInstance(user)));
+        assertThat(userCache.get(1L).getName(), equalTo("Alex"));
+    }
+
+    @Test
+    void evictReloadsUserTest() {
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(makeUser(1L, "Alex")),
+                Optional.of(makeUser(1L, "Ivan")));
+
+        assertThat(userCache.get(1L).getName(), equalTo("Alex"));
+
+        userCache.evict(1L);
+
+        assertThat(userCache.get(1L).getName(), equalTo("Ivan"));
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void evictAgainAfterCompletionTest() {
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(makeUser(1L, "Alex")));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userCache.evict(1L);
+            userCache.get(1L);
+            assertThat(userCache.size(), equalTo(1L));
+
+            TransactionSynchronizationManager.getSynchronizations().get(0)
+                    .afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(userCache.size(), equalTo(0L));
+    }
+
+    @Test
+    void evictDuringLoadDropsLoadedUserTest() {
+
+        when(userRepository.findById(1L)).thenAnswer(invocation -> {
+            userCache.evict(1L);
+            return Optional.of(makeUser(1L, "Alex"));
+        }).thenReturn(Optional.of(makeUser(1L, "Ivan")));
+
+        assertThat(userCache.get(1L).getName(), equalTo("Alex"));
+        assertThat(userCache.size(), equalTo(0L));
+
+        assertThat(userCache.get(1L).getName(), equalTo("Ivan"));
+        assertThat(userCache.get(1L).getName(), equalTo("Ivan"));
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void disabledCacheAlwaysLoadsTest() {
+
+        userCache = new UserCache(userRepository, 0, meterRegistry);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(makeUser(1L, "Alex")));
+
+        userCache.get(1L);
+        userCache.get(1L);
+
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    private User makeUser(Long id, String name) {
+
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(name + "@mail.ru");
+
+        return user;
+    }
+}
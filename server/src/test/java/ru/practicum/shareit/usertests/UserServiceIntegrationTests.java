@@ -4,11 +4,21 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.item.ItemSummaryUpdater;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
+import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.interfaces.UserService;
+import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -20,7 +30,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class UserServiceIntegrationTests {
 
+    private final EntityManager entityManager;
     private final UserService userService;
+    private final ItemSummaryUpdater itemSummaryUpdater;
 
     @Test
     public void addUserTest() {
@@ -104,6 +116,53 @@ public class UserServiceIntegrationTests {
         assertThat(e.getMessage(), equalTo("User with id = " + id + " not found"));
     }
 
+    @Test
+    public void removeUserRefreshesItemSummaryTest() {
+
+        User owner = UserMapper.toUser(makeUserDto("Owner", "Owner@mail.ru"));
+        entityManager.persist(owner);
+        User booker = UserMapper.toUser(makeUserDto("Booker", "Booker@mail.ru"));
+        entityManager.persist(booker);
+
+        Item item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless");
+        item.setAvailable(true);
+        item.setOwnerId(owner.getId());
+        entityManager.persist(item);
+
+        LocalDateTime now = LocalDateTime.now();
+
+        Booking booking = new Booking();
+        booking.setStart(now.minusDays(2));
+        booking.setEnd(now.minusDays(1));
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(Status.APPROVED);
+        entityManager.persist(booking);
+
+        Comment comment = new Comment();
+        comment.setText("Good drill");
+        comment.setItem(item);
+        comment.setAuthor(booker);
+        comment.setCreated(now);
+        entityManager.persist(comment);
+        entityManager.flush();
+
+        itemSummaryUpdater.refresh(item.getId());
+
+        ItemSummary summary = entityManager.find(ItemSummary.class, item.getId());
+        assertThat(summary.getLastBookerId(), equalTo(booker.getId()));
+        assertThat(itemSummaryUpdater.readComments(summary), hasSize(1));
+
+        userService.removeUser(booker.getId());
+
+        summary = entityManager.find(ItemSummary.class, item.getId());
+        assertThat(summary.getLastBookingId(), nullValue());
+        assertThat(summary.getLastBookerId(), nullValue());
+        assertThat(itemSummaryUpdater.readComments(summary), empty());
+    }
+
     private UserDto makeUserDto(String name, String email) {
 
         UserDto dto = new UserDto();
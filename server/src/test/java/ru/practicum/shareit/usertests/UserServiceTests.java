@@ -1,17 +1,29 @@
 package ru.practicum.shareit.usertests;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.interfaces.BookingRepository;
 import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.item.ItemSearchCache;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.ItemSummaryUpdater;
+import ru.practicum.shareit.item.interfaces.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.UserCache;
 import ru.practicum.shareit.user.UserServiceImpl;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.interfaces.UserRepository;
 import ru.practicum.shareit.user.interfaces.UserService;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,11 +42,31 @@ public class UserServiceTests {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private ItemSearchCache itemSearchCache;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private CommentRepository commentRepository;
+    @Mock
+    private ItemSummaryUpdater itemSummaryUpdater;
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private Cache cache;
+
+    private UserCache userCache;
 
     @BeforeEach
     public void setUp() {
 
-        userService = new UserServiceImpl(userRepository);
+        userCache = new UserCache(userRepository, 1000, new SimpleMeterRegistry());
+        userService = new UserServiceImpl(userRepository, userCache, itemSearchIndex, itemSearchCache,
+                bookingIntervalIndex, bookingRepository, commentRepository, itemSummaryUpdater, entityManagerFactory);
     }
 
     @Test
@@ -120,8 +152,22 @@ public class UserServiceTests {
     @Test
     public void removeUserTest() {
 
+        when(userRepository.findById(1L)).thenReturn(Optional.of(makeUser(1L, "Alex", "Alex@mail.ru")));
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(bookingRepository.findItemIdsByBookerId(1L)).thenReturn(List.of(3L, 4L));
+        when(commentRepository.findItemIdsByAuthorId(1L)).thenReturn(List.of(4L, 5L));
+        userService.getUser(1L);
+        assertThat(userCache.size(), equalTo(1L));
+
         userService.removeUser(1L);
         verify(userRepository).deleteById(any());
+        verify(itemSearchIndex).removeOwner(1L);
+        verify(itemSearchCache).evictAll();
+        verify(bookingIntervalIndex).removeBooker(1L);
+        verify(itemSummaryUpdater).refresh(List.of(3L, 4L, 5L));
+        verify(cache).evict(Item.class);
+        verify(cache).evict(Request.class);
+        assertThat(userCache.size(), equalTo(0L));
     }
 
     private User makeUser(Long id, String name, String email) {